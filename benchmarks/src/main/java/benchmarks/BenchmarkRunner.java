@@ -0,0 +1,36 @@
+package benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar. Takes the usual JMH command line, and
+ * unless told otherwise adds the GC profiler (allocation rate and bytes
+ * per op) and writes machine readable results to jmh-result.json, so runs
+ * on different commits can be compared file to file
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+
+        // Listing and help requests don't run anything, leave them to JMH
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams()
+                || cmd.shouldListProfilers() || cmd.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (cmd.getProfilers().isEmpty()) options.addProfiler(GCProfiler.class);
+        if (!cmd.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+        if (!cmd.getResult().hasValue()) options.result("jmh-result.json");
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import data_structures.cache.LruCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LruCache lookups with a load on miss, on a skewed key distribution
+ * mixed with one-off keys, for both eviction policies. The hit ratio of
+ * each run is reported as an auxiliary counter
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CacheBenchmark {
+
+    @Param({"1000", "100000"})
+    int capacity;
+
+    @Param({"LRU", "SEGMENTED_LRU"})
+    LruCache.Policy policy;
+
+    private LruCache<Integer, Integer> cache;
+    private Integer[] keys;
+    private int cursor;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Ratio {
+        public long hits, misses;
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        Random random = new Random(42);
+        cache = new LruCache<Integer, Integer>(capacity, null, policy);
+
+        // Three quarters of the keys come from a hot set twice the cache
+        // size, skewed towards small keys, the rest are scanned once
+        keys = new Integer[1 << 20];
+        for (int i = 0; i < keys.length; i++) {
+            if (random.nextInt(4) != 0) {
+                double skew = random.nextDouble();
+                keys[i] = (int) (skew * skew * capacity * 2);
+            } else {
+                keys[i] = capacity * 2 + i;
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer getOrLoad(Ratio ratio) {
+        Integer key = keys[cursor++ & (keys.length - 1)];
+        Integer value = cache.get(key);
+        if (value == null) {
+            ratio.misses++;
+            cache.put(key, key);
+            return key;
+        }
+        ratio.hits++;
+        return value;
+    }
+}
@@ -0,0 +1,271 @@
+package benchmarks;
+
+import data_structures.priorityQueue.ConcurrentPriorityQueue;
+import data_structures.priorityQueue.PriorityQueue;
+import data_structures.queue.BoundedBlockingQueue;
+import data_structures.queue.MpmcQueue;
+import data_structures.queue.SpscQueue;
+import data_structures.queue.WorkStealingDeque;
+import data_structures.stack.ConcurrentStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the thread safe structures under contention, plus sampled
+ * latency for the lock free queues. Groups pit producers against consumers
+ * (or an owner against thieves), and JMH reports each side of a group
+ * separately as well as their sum
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentBenchmark {
+
+    private static final Integer ELEM = 1;
+
+    @State(Scope.Group)
+    public static class Queues {
+        final SpscQueue<Integer> spsc = new SpscQueue<Integer>(1024);
+        final MpmcQueue<Integer> mpmc = new MpmcQueue<Integer>(1024);
+        final BoundedBlockingQueue<Integer> blocking = new BoundedBlockingQueue<Integer>(1024);
+    }
+
+    // The lock free queues also report sampled latency percentiles per
+    // call. An SPSC queue only allows one producer and one consumer, the
+    // MPMC queue runs with producers x consumers in the group name
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean spscOffer(Queues queues) {
+        return queues.spsc.offer(ELEM);
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer spscPoll(Queues queues) {
+        return queues.spsc.poll();
+    }
+
+    @Benchmark
+    @Group("mpmc1x1")
+    @GroupThreads(1)
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean mpmc1x1Offer(Queues queues) {
+        return queues.mpmc.offer(ELEM);
+    }
+
+    @Benchmark
+    @Group("mpmc1x1")
+    @GroupThreads(1)
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer mpmc1x1Poll(Queues queues) {
+        return queues.mpmc.poll();
+    }
+
+    @Benchmark
+    @Group("mpmc2x2")
+    @GroupThreads(2)
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean mpmc2x2Offer(Queues queues) {
+        return queues.mpmc.offer(ELEM);
+    }
+
+    @Benchmark
+    @Group("mpmc2x2")
+    @GroupThreads(2)
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer mpmc2x2Poll(Queues queues) {
+        return queues.mpmc.poll();
+    }
+
+    @Benchmark
+    @Group("mpmc1x3")
+    @GroupThreads(1)
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean mpmc1x3Offer(Queues queues) {
+        return queues.mpmc.offer(ELEM);
+    }
+
+    @Benchmark
+    @Group("mpmc1x3")
+    @GroupThreads(3)
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer mpmc1x3Poll(Queues queues) {
+        return queues.mpmc.poll();
+    }
+
+    @Benchmark
+    @Group("mpmc3x1")
+    @GroupThreads(3)
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean mpmc3x1Offer(Queues queues) {
+        return queues.mpmc.offer(ELEM);
+    }
+
+    @Benchmark
+    @Group("mpmc3x1")
+    @GroupThreads(1)
+    @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer mpmc3x1Poll(Queues queues) {
+        return queues.mpmc.poll();
+    }
+
+    @Benchmark
+    @Group("blocking")
+    @GroupThreads(2)
+    public boolean blockingOffer(Queues queues) {
+        return queues.blocking.offer(ELEM);
+    }
+
+    @Benchmark
+    @Group("blocking")
+    @GroupThreads(2)
+    public Integer blockingPoll(Queues queues) {
+        return queues.blocking.poll();
+    }
+
+    @State(Scope.Group)
+    public static class Deque {
+        final WorkStealingDeque<Integer> deque = new WorkStealingDeque<Integer>();
+    }
+
+    // The owner pushes two tasks and runs one, leaving the other to be
+    // stolen, and runs more itself once the backlog gets long
+    @Benchmark
+    @Group("workStealing")
+    @GroupThreads(1)
+    public Integer owner(Deque deque) {
+        deque.deque.addLast(ELEM);
+        deque.deque.addLast(ELEM);
+        if (deque.deque.size() > 4096) deque.deque.pollLast();
+        return deque.deque.pollLast();
+    }
+
+    @Benchmark
+    @Group("workStealing")
+    @GroupThreads(3)
+    public Integer thief(Deque deque) {
+        return deque.deque.pollFirst();
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedStack {
+        @Param({"0", "4", "16"})
+        int eliminationSlots;
+
+        ConcurrentStack<Integer> stack;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            stack = new ConcurrentStack<Integer>(eliminationSlots);
+            for (int i = 0; i < 1024; i++) stack.push(ELEM);
+        }
+    }
+
+    // Elimination only pays off under contention, so the thread count is
+    // swept. JMH can't take it as a @Param, hence one method per count
+
+    @Benchmark
+    @Threads(1)
+    public Integer stackPushPop1(SharedStack shared) {
+        shared.stack.push(ELEM);
+        return shared.stack.poll();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Integer stackPushPop2(SharedStack shared) {
+        shared.stack.push(ELEM);
+        return shared.stack.poll();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer stackPushPop4(SharedStack shared) {
+        shared.stack.push(ELEM);
+        return shared.stack.poll();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer stackPushPop8(SharedStack shared) {
+        shared.stack.push(ELEM);
+        return shared.stack.poll();
+    }
+
+    // SYNCHRONIZED is the baseline, a single PriorityQueue behind one lock
+    @State(Scope.Benchmark)
+    public static class SharedPriorityQueue {
+        @Param({"SYNCHRONIZED", "STRICT", "RELAXED"})
+        String ordering;
+
+        PriorityQueue<Integer> lockedQueue;
+        ConcurrentPriorityQueue<Integer> priorityQueue;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            if (ordering.equals("SYNCHRONIZED")) {
+                lockedQueue = new PriorityQueue<Integer>();
+                for (int i = 0; i < 1024; i++) lockedQueue.add(i);
+            } else {
+                priorityQueue = new ConcurrentPriorityQueue<Integer>(8, ConcurrentPriorityQueue.Ordering.valueOf(ordering));
+                for (int i = 0; i < 1024; i++) priorityQueue.add(i);
+            }
+        }
+
+        Integer addPoll(Integer elem) {
+            if (lockedQueue == null) {
+                priorityQueue.add(elem);
+                return priorityQueue.poll();
+            }
+            synchronized (lockedQueue) {
+                lockedQueue.add(elem);
+                return lockedQueue.poll();
+            }
+        }
+    }
+
+    // One method per thread count, like stackPushPop
+
+    @Benchmark
+    @Threads(1)
+    public Integer priorityQueueAddPoll1(SharedPriorityQueue shared) {
+        return shared.addPoll(ThreadLocalRandom.current().nextInt());
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Integer priorityQueueAddPoll2(SharedPriorityQueue shared) {
+        return shared.addPoll(ThreadLocalRandom.current().nextInt());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer priorityQueueAddPoll4(SharedPriorityQueue shared) {
+        return shared.addPoll(ThreadLocalRandom.current().nextInt());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Integer priorityQueueAddPoll8(SharedPriorityQueue shared) {
+        return shared.addPoll(ThreadLocalRandom.current().nextInt());
+    }
+}
@@ -0,0 +1,226 @@
+package benchmarks;
+
+import data_structures.priorityQueue.FibonacciHeap;
+import data_structures.priorityQueue.IndexedPriorityQueue;
+import data_structures.priorityQueue.PairingHeap;
+import data_structures.priorityQueue.PriorityQueue;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workloads where the pairing and Fibonacci heaps are expected to beat a
+ * binary heap: Dijkstra on a random graph, which is dominated by
+ * decreaseKey, and melding many heaps together, which they do in O(1).
+ * The binary heap baselines are IndexedPriorityQueue's decreaseKey and
+ * PriorityQueue with lazy deletion (re-adding an entry instead of
+ * decreasing it) and its O(n) meld
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DecreaseKeyBenchmark {
+
+    private static final int DEGREE = 8;
+    private static final int MELD_HEAPS = 64;
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    // The graph in compressed sparse row form, the edges of
+    // vertex v are at offsets[v] ... offsets[v+1]-1
+    private int[] offsets, targets, weights;
+
+    // Heaps to meld, rebuilt before every invocation. Only the meld
+    // benchmarks take this state, so the Dijkstra ones don't pay for it
+    @State(Scope.Thread)
+    public static class MeldParts {
+        PairingHeap<Integer>[] pairing;
+        FibonacciHeap<Integer>[] fibonacci;
+        PriorityQueue<Integer>[] binary;
+        int partSize;
+
+        @Setup(Level.Invocation)
+        @SuppressWarnings("unchecked")
+        public void setup(BenchmarkParams params) {
+            partSize = Integer.parseInt(params.getParam("size")) / MELD_HEAPS;
+            Random random = new Random(7);
+            pairing = (PairingHeap<Integer>[]) new PairingHeap<?>[MELD_HEAPS];
+            fibonacci = (FibonacciHeap<Integer>[]) new FibonacciHeap<?>[MELD_HEAPS];
+            binary = (PriorityQueue<Integer>[]) new PriorityQueue<?>[MELD_HEAPS];
+            for (int i = 0; i < MELD_HEAPS; i++) {
+                pairing[i] = new PairingHeap<Integer>();
+                fibonacci[i] = new FibonacciHeap<Integer>();
+                binary[i] = new PriorityQueue<Integer>();
+                for (int j = 0; j < partSize; j++) {
+                    Integer value = random.nextInt();
+                    pairing[i].add(value);
+                    fibonacci[i].add(value);
+                    binary[i].add(value);
+                }
+            }
+        }
+    }
+
+    // A vertex and its tentative distance
+    static final class Entry implements Comparable<Entry> {
+        final long distance;
+        final int vertex;
+
+        Entry(long distance, int vertex) {
+            this.distance = distance;
+            this.vertex = vertex;
+        }
+
+        public int compareTo(Entry other) {
+            return Long.compare(distance, other.distance);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setupGraph() {
+        Random random = new Random(42);
+        offsets = new int[size + 1];
+        targets = new int[size * DEGREE];
+        weights = new int[size * DEGREE];
+        for (int v = 0; v < size; v++) {
+            offsets[v + 1] = offsets[v] + DEGREE;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                targets[e] = random.nextInt(size);
+                weights[e] = 1 + random.nextInt(1000);
+            }
+        }
+    }
+
+    @Benchmark
+    public long dijkstraPairingHeap() {
+        PairingHeap<Entry> heap = new PairingHeap<Entry>();
+        @SuppressWarnings("unchecked")
+        PairingHeap.Node<Entry>[] nodes = (PairingHeap.Node<Entry>[]) new PairingHeap.Node<?>[size];
+        boolean[] done = new boolean[size];
+        nodes[0] = heap.insert(new Entry(0, 0));
+
+        long total = 0;
+        while (!heap.isEmpty()) {
+            Entry entry = heap.poll();
+            done[entry.vertex] = true;
+            total += entry.distance;
+            for (int e = offsets[entry.vertex]; e < offsets[entry.vertex + 1]; e++) {
+                int target = targets[e];
+                if (done[target]) continue;
+                long distance = entry.distance + weights[e];
+                if (nodes[target] == null) nodes[target] = heap.insert(new Entry(distance, target));
+                else if (distance < nodes[target].value().distance) heap.decreaseKey(nodes[target], new Entry(distance, target));
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long dijkstraFibonacciHeap() {
+        FibonacciHeap<Entry> heap = new FibonacciHeap<Entry>();
+        @SuppressWarnings("unchecked")
+        FibonacciHeap.Node<Entry>[] nodes = (FibonacciHeap.Node<Entry>[]) new FibonacciHeap.Node<?>[size];
+        boolean[] done = new boolean[size];
+        nodes[0] = heap.insert(new Entry(0, 0));
+
+        long total = 0;
+        while (!heap.isEmpty()) {
+            Entry entry = heap.poll();
+            done[entry.vertex] = true;
+            total += entry.distance;
+            for (int e = offsets[entry.vertex]; e < offsets[entry.vertex + 1]; e++) {
+                int target = targets[e];
+                if (done[target]) continue;
+                long distance = entry.distance + weights[e];
+                if (nodes[target] == null) nodes[target] = heap.insert(new Entry(distance, target));
+                else if (distance < nodes[target].value().distance) heap.decreaseKey(nodes[target], new Entry(distance, target));
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long dijkstraIndexedBinaryHeap() {
+        IndexedPriorityQueue heap = new IndexedPriorityQueue(size);
+        boolean[] done = new boolean[size];
+        heap.insert(0, 0);
+
+        long total = 0;
+        while (!heap.isEmpty()) {
+            long distance = (long) heap.peekMinValue();
+            int vertex = heap.pollMinKeyIndex();
+            done[vertex] = true;
+            total += distance;
+            for (int e = offsets[vertex]; e < offsets[vertex + 1]; e++) {
+                int target = targets[e];
+                if (done[target]) continue;
+                long next = distance + weights[e];
+                if (!heap.contains(target)) heap.insert(target, next);
+                else if (next < heap.valueOf(target)) heap.decreaseKey(target, next);
+            }
+        }
+        return total;
+    }
+
+    // Without decreaseKey, push a new entry and skip stale ones when polled
+    @Benchmark
+    public long dijkstraLazyBinaryHeap() {
+        PriorityQueue<Entry> heap = new PriorityQueue<Entry>(size);
+        long[] best = new long[size];
+        java.util.Arrays.fill(best, Long.MAX_VALUE);
+        boolean[] done = new boolean[size];
+        best[0] = 0;
+        heap.add(new Entry(0, 0));
+
+        long total = 0;
+        while (!heap.isEmpty()) {
+            Entry entry = heap.poll();
+            if (done[entry.vertex]) continue;
+            done[entry.vertex] = true;
+            total += entry.distance;
+            for (int e = offsets[entry.vertex]; e < offsets[entry.vertex + 1]; e++) {
+                int target = targets[e];
+                long distance = entry.distance + weights[e];
+                if (!done[target] && distance < best[target]) {
+                    best[target] = distance;
+                    heap.add(new Entry(distance, target));
+                }
+            }
+        }
+        return total;
+    }
+
+    // Meld every part into the first and poll a part's worth of elements
+    @Benchmark
+    public long meldPairingHeap(MeldParts parts) {
+        PairingHeap<Integer> heap = parts.pairing[0];
+        for (int i = 1; i < MELD_HEAPS; i++) heap.meld(parts.pairing[i]);
+        long sum = 0;
+        for (int i = 0; i < parts.partSize; i++) sum += heap.poll();
+        return sum;
+    }
+
+    @Benchmark
+    public long meldFibonacciHeap(MeldParts parts) {
+        FibonacciHeap<Integer> heap = parts.fibonacci[0];
+        for (int i = 1; i < MELD_HEAPS; i++) heap.meld(parts.fibonacci[i]);
+        long sum = 0;
+        for (int i = 0; i < parts.partSize; i++) sum += heap.poll();
+        return sum;
+    }
+
+    @Benchmark
+    public long meldBinaryHeap(MeldParts parts) {
+        PriorityQueue<Integer> heap = parts.binary[0];
+        for (int i = 1; i < MELD_HEAPS; i++) heap.meld(parts.binary[i]);
+        long sum = 0;
+        for (int i = 0; i < parts.partSize; i++) sum += heap.poll();
+        return sum;
+    }
+}
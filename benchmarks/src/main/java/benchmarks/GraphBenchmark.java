@@ -0,0 +1,58 @@
+package benchmarks;
+
+import algorithms.graph.Boruvka;
+import algorithms.graph.ConnectedComponents;
+import algorithms.graph.Kruskal;
+import algorithms.graph.SpanningForest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The union find based graph algorithms on a random graph with four
+ * edges per vertex
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphBenchmark {
+
+    @Param({"10000", "1000000"})
+    int vertices;
+
+    private int[] u, v;
+    private double[] w;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        int edges = vertices * 4;
+        u = new int[edges];
+        v = new int[edges];
+        w = new double[edges];
+        for (int i = 0; i < edges; i++) {
+            u[i] = random.nextInt(vertices);
+            v[i] = random.nextInt(vertices);
+            w[i] = random.nextDouble();
+        }
+    }
+
+    @Benchmark
+    public SpanningForest kruskal() {
+        return Kruskal.minimumSpanningForest(vertices, u, v, w);
+    }
+
+    @Benchmark
+    public SpanningForest boruvka() {
+        return Boruvka.minimumSpanningForest(vertices, u, v, w);
+    }
+
+    @Benchmark
+    public int[] connectedComponents() {
+        return ConnectedComponents.label(vertices, u, v);
+    }
+}
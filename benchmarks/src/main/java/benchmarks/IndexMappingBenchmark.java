@@ -0,0 +1,105 @@
+package benchmarks;
+
+import data_structures.priorityQueue.PriorityQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PriorityQueue's flat handle index against the HashMap of TreeSets it
+ * replaced (LegacyPriorityQueue), both binary heaps holding the same
+ * values. The values repeat so both indexes track duplicates. Run with
+ * the GC profiler, gc.alloc.rate.norm of the build benchmarks is roughly
+ * the memory each index holds per queue
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IndexMappingBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    // Values with about two copies each, and random picks among them
+    private Integer[] values;
+    private int[] picks;
+    private int cursor;
+
+    private PriorityQueue<Integer> flat;
+    private LegacyPriorityQueue<Integer> legacy;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        Random random = new Random(42);
+        values = new Integer[size];
+        for (int i = 0; i < size; i++) values[i] = random.nextInt(size / 2);
+        picks = new int[1 << 16];
+        for (int i = 0; i < picks.length; i++) picks[i] = random.nextInt(size);
+
+        flat = new PriorityQueue<Integer>(values);
+        legacy = new LegacyPriorityQueue<Integer>(values);
+    }
+
+    private int pick() {
+        return picks[cursor++ & (picks.length - 1)];
+    }
+
+    // Add a value then poll the minimum, every swap updates the index
+    @Benchmark
+    public Integer addPollFlat() {
+        flat.add(values[pick()]);
+        return flat.poll();
+    }
+
+    @Benchmark
+    public Integer addPollLegacy() {
+        legacy.add(values[pick()]);
+        return legacy.poll();
+    }
+
+    // Remove a value through the index and add it back
+    @Benchmark
+    public boolean removeAddFlat() {
+        Integer value = values[pick()];
+        boolean removed = flat.remove(value);
+        flat.add(value);
+        return removed;
+    }
+
+    @Benchmark
+    public boolean removeAddLegacy() {
+        Integer value = values[pick()];
+        boolean removed = legacy.remove(value);
+        legacy.add(value);
+        return removed;
+    }
+
+    @Benchmark
+    public boolean containsFlat() {
+        return flat.contains(values[pick()]);
+    }
+
+    @Benchmark
+    public boolean containsLegacy() {
+        return legacy.contains(values[pick()]);
+    }
+
+    // Build a queue one add at a time
+    @Benchmark
+    public PriorityQueue<Integer> buildFlat() {
+        PriorityQueue<Integer> heap = new PriorityQueue<Integer>(size);
+        for (Integer value : values) heap.add(value);
+        return heap;
+    }
+
+    @Benchmark
+    public LegacyPriorityQueue<Integer> buildLegacy() {
+        LegacyPriorityQueue<Integer> heap = new LegacyPriorityQueue<Integer>(size);
+        for (Integer value : values) heap.add(value);
+        return heap;
+    }
+}
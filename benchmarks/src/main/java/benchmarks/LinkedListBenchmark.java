@@ -0,0 +1,122 @@
+package benchmarks;
+
+import data_structures.linkedlist.DoublyLinkedList;
+import data_structures.linkedlist.UnrolledLinkedList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DoublyLinkedList against UnrolledLinkedList. The build benchmarks double
+ * as a memory footprint comparison: with the GC profiler on,
+ * gc.alloc.rate.norm is the bytes allocated to hold 'size' elements
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinkedListBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    private Integer[] values;
+
+    private DoublyLinkedList<Integer> list;
+    private DoublyLinkedList<Integer> pooledList;
+    private UnrolledLinkedList<Integer> unrolled;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        values = new Integer[size];
+        for (int i = 0; i < size; i++) values[i] = i;
+
+        list = new DoublyLinkedList<Integer>();
+        pooledList = DoublyLinkedList.pooled(64);
+        unrolled = new UnrolledLinkedList<Integer>();
+        for (Integer value : values) {
+            list.add(value);
+            pooledList.add(value);
+            unrolled.add(value);
+        }
+    }
+
+    // Remove at the head and append at the tail, keeping the size steady
+    @Benchmark
+    public Integer addRemove() {
+        Integer value = list.removeFirst();
+        list.addLast(value);
+        return value;
+    }
+
+    @Benchmark
+    public Integer addRemovePooled() {
+        Integer value = pooledList.removeFirst();
+        pooledList.addLast(value);
+        return value;
+    }
+
+    @Benchmark
+    public Integer addRemoveUnrolled() {
+        Integer value = unrolled.removeFirst();
+        unrolled.addLast(value);
+        return value;
+    }
+
+    // Remove from the middle, the worst case for choosing a side to walk from
+    @Benchmark
+    public Integer removeAtMiddle() {
+        Integer value = list.removeAt(size / 2);
+        list.addLast(value);
+        return value;
+    }
+
+    @Benchmark
+    public Integer removeAtMiddleUnrolled() {
+        Integer value = unrolled.removeAt(size / 2);
+        unrolled.addLast(value);
+        return value;
+    }
+
+    // Search for a value which is not in the list, a full traversal
+    @Benchmark
+    public int indexOfMissing() {
+        return list.indexOf(-1);
+    }
+
+    @Benchmark
+    public int indexOfMissingUnrolled() {
+        return unrolled.indexOf(-1);
+    }
+
+    // Iterator traversal
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer value : list) sum += value;
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateUnrolled() {
+        long sum = 0;
+        for (Integer value : unrolled) sum += value;
+        return sum;
+    }
+
+    @Benchmark
+    public DoublyLinkedList<Integer> build() {
+        DoublyLinkedList<Integer> built = new DoublyLinkedList<Integer>();
+        for (Integer value : values) built.add(value);
+        return built;
+    }
+
+    @Benchmark
+    public UnrolledLinkedList<Integer> buildUnrolled() {
+        UnrolledLinkedList<Integer> built = new UnrolledLinkedList<Integer>();
+        for (Integer value : values) built.add(value);
+        return built;
+    }
+}
@@ -0,0 +1,84 @@
+package benchmarks;
+
+import data_structures.priorityQueue.PriorityQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The PriorityQueue operations whose cost depends on the number of
+ * children per node, swept across arities and sizes. A wider node means
+ * fewer levels, and its children share cache lines, which matters most
+ * once the heap no longer fits in cache. Larger sizes can be given on
+ * the command line, eg. -p size=20000000 with a big enough -Xmx
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PriorityQueueArityBenchmark {
+
+    @Param({"1000", "100000", "1000000", "4000000"})
+    int size;
+
+    @Param({"2", "4", "8", "16"})
+    int arity;
+
+    // Random values, and random picks among them so the benchmark
+    // loop does not pay for a Random call
+    private Integer[] values;
+    private int[] picks;
+    private int cursor;
+
+    private PriorityQueue<Integer> pq;
+
+    // Built once per trial, the steady state benchmarks keep the size
+    // constant and rebuilding millions of elements per iteration is slow
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        values = new Integer[size];
+        for (int i = 0; i < size; i++) values[i] = random.nextInt();
+        picks = new int[1 << 16];
+        for (int i = 0; i < picks.length; i++) picks[i] = random.nextInt(size);
+
+        pq = new PriorityQueue<Integer>(values, arity);
+    }
+
+    private int pick() {
+        return picks[cursor++ & (picks.length - 1)];
+    }
+
+    // Add a random value then poll the minimum, keeping the size steady
+    @Benchmark
+    public Integer addPoll() {
+        pq.add(values[pick()]);
+        return pq.poll();
+    }
+
+    // Remove an arbitrary element by value and add it back
+    @Benchmark
+    public boolean removeAdd() {
+        Integer value = values[pick()];
+        boolean removed = pq.remove(value);
+        pq.add(value);
+        return removed;
+    }
+
+    // Build a heap from an array in O(n)
+    @Benchmark
+    public PriorityQueue<Integer> heapify() {
+        return new PriorityQueue<Integer>(values, arity);
+    }
+
+    // Build a heap by adding one element at a time, O(n log(n))
+    @Benchmark
+    public PriorityQueue<Integer> addAllOneByOne() {
+        PriorityQueue<Integer> heap = new PriorityQueue<Integer>(size, arity);
+        for (Integer value : values) heap.add(value);
+        return heap;
+    }
+}
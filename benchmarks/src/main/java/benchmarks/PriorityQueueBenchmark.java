@@ -0,0 +1,101 @@
+package benchmarks;
+
+import data_structures.priorityQueue.FibonacciHeap;
+import data_structures.priorityQueue.IntMinHeap;
+import data_structures.priorityQueue.PairingHeap;
+import data_structures.priorityQueue.PriorityQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot operations of PriorityQueue at a steady size, next to the other
+ * heaps and java.util.PriorityQueue as a baseline. PriorityQueue uses
+ * its default binary layout here, PriorityQueueArityBenchmark sweeps
+ * the arity
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PriorityQueueBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    // Random values, and random picks among them so the benchmark
+    // loop does not pay for a Random call
+    private Integer[] values;
+    private int[] picks;
+    private int cursor;
+
+    private PriorityQueue<Integer> pq;
+    private java.util.PriorityQueue<Integer> jdk;
+    private IntMinHeap intHeap;
+    private PairingHeap<Integer> pairing;
+    private FibonacciHeap<Integer> fibonacci;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        Random random = new Random(42);
+        values = new Integer[size];
+        for (int i = 0; i < size; i++) values[i] = random.nextInt();
+        picks = new int[1 << 16];
+        for (int i = 0; i < picks.length; i++) picks[i] = random.nextInt(size);
+
+        pq = new PriorityQueue<Integer>(values);
+        jdk = new java.util.PriorityQueue<Integer>(size);
+        intHeap = new IntMinHeap(size);
+        pairing = new PairingHeap<Integer>();
+        fibonacci = new FibonacciHeap<Integer>();
+        for (Integer value : values) {
+            jdk.add(value);
+            intHeap.add(value);
+            pairing.add(value);
+            fibonacci.add(value);
+        }
+    }
+
+    private int pick() {
+        return picks[cursor++ & (picks.length - 1)];
+    }
+
+    // Add a random value then poll the minimum, keeping the size steady
+    @Benchmark
+    public Integer addPoll() {
+        pq.add(values[pick()]);
+        return pq.poll();
+    }
+
+    @Benchmark
+    public Integer addPollJdk() {
+        jdk.add(values[pick()]);
+        return jdk.poll();
+    }
+
+    @Benchmark
+    public int addPollIntMinHeap() {
+        intHeap.add(values[pick()]);
+        return intHeap.poll();
+    }
+
+    @Benchmark
+    public Integer addPollPairingHeap() {
+        pairing.add(values[pick()]);
+        return pairing.poll();
+    }
+
+    @Benchmark
+    public Integer addPollFibonacciHeap() {
+        fibonacci.add(values[pick()]);
+        return fibonacci.poll();
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return pq.contains(values[pick()]);
+    }
+}
@@ -0,0 +1,144 @@
+package benchmarks;
+
+import data_structures.queue.ArrayQueue;
+import data_structures.queue.MpmcQueue;
+import data_structures.queue.Queue;
+import data_structures.queue.SpscQueue;
+import data_structures.stack.ArrayStack;
+import data_structures.stack.ConcurrentStack;
+import data_structures.stack.IntStack;
+import data_structures.stack.Stack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enqueue/dequeue and push/pop pairs on queues and stacks holding a
+ * steady number of elements, from a single thread. The GC profiler's
+ * gc.alloc.rate.norm shows the bytes allocated per pair, which is near
+ * zero for the array backed and pooled variants
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueueStackBenchmark {
+
+    @Param({"16", "10000"})
+    int size;
+
+    private final Integer elem = 1;
+
+    private Queue<Integer> queue;
+    private Queue<Integer> pooledQueue;
+    private ArrayQueue<Integer> arrayQueue;
+    private ArrayDeque<Integer> jdkDeque;
+    private SpscQueue<Integer> spscQueue;
+    private MpmcQueue<Integer> mpmcQueue;
+
+    private Stack<Integer> stack;
+    private Stack<Integer> pooledStack;
+    private ArrayStack<Integer> arrayStack;
+    private IntStack intStack;
+    private ConcurrentStack<Integer> concurrentStack;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        queue = new Queue<Integer>();
+        pooledQueue = Queue.pooled(64);
+        arrayQueue = new ArrayQueue<Integer>();
+        jdkDeque = new ArrayDeque<Integer>();
+        spscQueue = new SpscQueue<Integer>(size + 1);
+        mpmcQueue = new MpmcQueue<Integer>(size + 1);
+
+        stack = new Stack<Integer>();
+        pooledStack = Stack.pooled(64);
+        arrayStack = new ArrayStack<Integer>();
+        intStack = new IntStack();
+        concurrentStack = new ConcurrentStack<Integer>();
+
+        for (int i = 0; i < size; i++) {
+            queue.Enqueue(elem);
+            pooledQueue.Enqueue(elem);
+            arrayQueue.Enqueue(elem);
+            jdkDeque.addLast(elem);
+            spscQueue.offer(elem);
+            mpmcQueue.offer(elem);
+
+            stack.push(elem);
+            pooledStack.push(elem);
+            arrayStack.push(elem);
+            intStack.push(i);
+            concurrentStack.push(elem);
+        }
+    }
+
+    @Benchmark
+    public Integer queueEnqueueDequeue() {
+        queue.Enqueue(elem);
+        return queue.Dequeue();
+    }
+
+    @Benchmark
+    public Integer pooledQueueEnqueueDequeue() {
+        pooledQueue.Enqueue(elem);
+        return pooledQueue.Dequeue();
+    }
+
+    @Benchmark
+    public Integer arrayQueueEnqueueDequeue() {
+        arrayQueue.Enqueue(elem);
+        return arrayQueue.Dequeue();
+    }
+
+    @Benchmark
+    public Integer jdkDequeOfferPoll() {
+        jdkDeque.addLast(elem);
+        return jdkDeque.pollFirst();
+    }
+
+    @Benchmark
+    public Integer spscQueueOfferPoll() {
+        spscQueue.offer(elem);
+        return spscQueue.poll();
+    }
+
+    @Benchmark
+    public Integer mpmcQueueOfferPoll() {
+        mpmcQueue.offer(elem);
+        return mpmcQueue.poll();
+    }
+
+    @Benchmark
+    public Integer stackPushPop() {
+        stack.push(elem);
+        return stack.pop();
+    }
+
+    @Benchmark
+    public Integer pooledStackPushPop() {
+        pooledStack.push(elem);
+        return pooledStack.pop();
+    }
+
+    @Benchmark
+    public Integer arrayStackPushPop() {
+        arrayStack.push(elem);
+        return arrayStack.pop();
+    }
+
+    @Benchmark
+    public int intStackPushPop() {
+        intStack.push(1);
+        return intStack.pop();
+    }
+
+    @Benchmark
+    public Integer concurrentStackPushPop() {
+        concurrentStack.push(elem);
+        return concurrentStack.pop();
+    }
+}
@@ -0,0 +1,162 @@
+package benchmarks;
+
+import data_structures.unionfind.ConcurrentUnionFind;
+import data_structures.unionfind.LongUnionFind;
+import data_structures.unionfind.RollbackUnionFind;
+import data_structures.unionfind.UnionFind;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * find and unify on random edges and on an adversarial edge order. The
+ * adversarial order links equal sized trees pairwise, which builds
+ * binomial trees of height log(n), the worst case for union by size
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UnionFindBenchmark {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    // A pool for the multithreaded benchmarks, in its own state so
+    // the thread count only multiplies the benchmarks which use it
+    @State(Scope.Benchmark)
+    public static class Workers {
+        @Param({"1", "2", "4", "8"})
+        int threads;
+
+        ForkJoinPool pool;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            pool = new ForkJoinPool(threads);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pool.shutdown();
+        }
+    }
+
+    private int[] randomSrc, randomDst;
+    private int[] binomialSrc, binomialDst;
+
+    // A fully built union find for find benchmarks
+    private UnionFind built;
+    private int[] picks;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        randomSrc = new int[size];
+        randomDst = new int[size];
+        for (int i = 0; i < size; i++) {
+            randomSrc[i] = random.nextInt(size);
+            randomDst[i] = random.nextInt(size);
+        }
+
+        // Pair up the roots of equal sized trees, doubling the size each round
+        int edges = 0;
+        binomialSrc = new int[size];
+        binomialDst = new int[size];
+        for (int step = 1; step < size; step <<= 1) {
+            for (int i = 0; i + step < size; i += step << 1) {
+                binomialSrc[edges] = i;
+                binomialDst[edges] = i + step;
+                edges++;
+            }
+        }
+        binomialSrc = java.util.Arrays.copyOf(binomialSrc, edges);
+        binomialDst = java.util.Arrays.copyOf(binomialDst, edges);
+
+        built = new UnionFind(size);
+        for (int i = 0; i < size; i++) built.unify(randomSrc[i], randomDst[i]);
+        picks = new int[1 << 16];
+        for (int i = 0; i < picks.length; i++) picks[i] = random.nextInt(size);
+    }
+
+    // Unify every random edge into a fresh union find
+    @Benchmark
+    public int unifyRandom() {
+        UnionFind uf = new UnionFind(size);
+        for (int i = 0; i < randomSrc.length; i++) uf.unify(randomSrc[i], randomDst[i]);
+        return uf.components();
+    }
+
+    // Build binomial trees, then find every element from the deepest
+    // leaves up, before paths have been compressed
+    @Benchmark
+    public int unifyBinomialFindAll() {
+        UnionFind uf = new UnionFind(size);
+        for (int i = 0; i < binomialSrc.length; i++) uf.unify(binomialSrc[i], binomialDst[i]);
+        int sum = 0;
+        for (int i = size - 1; i >= 0; i--) sum += uf.find(i);
+        return sum;
+    }
+
+    // find on an already compressed union find
+    @Benchmark
+    public int findCompressed() {
+        return built.find(picks[cursor++ & (picks.length - 1)]);
+    }
+
+    // The fork join batch API on the same random edges, in a
+    // pool with the given parallelism
+    @Benchmark
+    public int unifyAllRandom(Workers workers) {
+        UnionFind uf = new UnionFind(size);
+        uf.unifyAll(randomSrc, randomDst, workers.pool);
+        return uf.components();
+    }
+
+    // The random edges split into one contiguous slice per thread,
+    // all unified into the same union find at once
+    @Benchmark
+    public int unifyRandomConcurrent(Workers workers) throws Exception {
+        final ConcurrentUnionFind uf = new ConcurrentUnionFind(size);
+        List<Callable<Void>> slices = new ArrayList<Callable<Void>>();
+        for (int t = 0; t < workers.threads; t++) {
+            final int lo = (int) ((long) randomSrc.length * t / workers.threads);
+            final int hi = (int) ((long) randomSrc.length * (t + 1) / workers.threads);
+            slices.add(new Callable<Void>() {
+                public Void call() {
+                    for (int i = lo; i < hi; i++) uf.unify(randomSrc[i], randomDst[i]);
+                    return null;
+                }
+            });
+        }
+        for (Future<Void> slice : workers.pool.invokeAll(slices)) slice.get();
+        return uf.components();
+    }
+
+    // Union by size only, no path compression
+    @Benchmark
+    public int unifyRandomRollback() {
+        RollbackUnionFind uf = new RollbackUnionFind(size);
+        for (int i = 0; i < randomSrc.length; i++) uf.unify(randomSrc[i], randomDst[i]);
+        return uf.components();
+    }
+
+    // Off heap storage with long ids, closed right away so the direct
+    // buffers of earlier invocations don't pile up until a GC
+    @Benchmark
+    public long unifyRandomLong() {
+        try (LongUnionFind uf = new LongUnionFind(size)) {
+            for (int i = 0; i < randomSrc.length; i++) uf.unify(randomSrc[i], randomDst[i]);
+            return uf.components();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package algorithms.graph;
+
+import data_structures.unionfind.UnionFind;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Boruvka's minimum spanning forest algorithm over primitive edge arrays.
+ * Every round each tree picks its cheapest outgoing edge and all of those
+ * edges are added at once, so there are at most log(n) rounds. Finding
+ * the cheapest edges is a scan over every edge which is split across a
+ * fork join pool; the UnionFind is only updated between scans
+ */
+public final class Boruvka {
+
+    // Edges per fork join task below which a scan is not split further
+    private static final int SCAN_THRESHOLD = 1 << 13;
+
+    private Boruvka() { }
+
+    // Minimum spanning forest of the graph using the common fork join pool
+    public static SpanningForest minimumSpanningForest(int n, int[] u, int[] v, double[] w) {
+        return minimumSpanningForest(n, u, v, w, ForkJoinPool.commonPool());
+    }
+
+    // Minimum spanning forest of the graph, one tree per connected
+    // component, O(m*log(n)) work spread across the pool
+    public static SpanningForest minimumSpanningForest(int n, int[] u, int[] v, double[] w, ForkJoinPool pool) {
+        Edges.check(n, u, v, w);
+
+        UnionFind uf = new UnionFind(n);
+        int[] root = new int[n];
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(n);
+
+        int[] chosen = new int[n - 1];
+        int count = 0;
+        double weight = 0;
+
+        while (uf.components() > 1) {
+
+            // Snapshot the tree of every vertex so the scan only reads
+            for (int i = 0; i < n; i++) {
+                root[i] = uf.find(i);
+                cheapest.set(i, -1);
+            }
+
+            pool.invoke(new CheapestEdgeTask(root, u, v, w, cheapest, 0, u.length));
+
+            // Add the cheapest edge of every tree, an edge picked by both
+            // of its trees or made redundant earlier in the loop is skipped
+            int added = 0;
+            for (int c = 0; c < n; c++) {
+                int e = cheapest.get(c);
+                if (e == -1 || uf.connected(u[e], v[e])) continue;
+
+                uf.unify(u[e], v[e]);
+                chosen[count++] = e;
+                weight += w[e];
+                added++;
+            }
+
+            // No tree has an outgoing edge left, the rest are disconnected
+            if (added == 0) break;
+        }
+
+        return new SpanningForest(Arrays.copyOf(chosen, count), weight, uf.components(),
+                ConnectedComponents.labels(uf));
+    }
+
+    // Records the cheapest edge leaving each tree for a range of edges
+    private static final class CheapestEdgeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] root, u, v;
+        private final double[] w;
+        private final AtomicIntegerArray cheapest;
+        private final int lo, hi;
+
+        CheapestEdgeTask(int[] root, int[] u, int[] v, double[] w, AtomicIntegerArray cheapest, int lo, int hi) {
+            this.root = root;
+            this.u = u;
+            this.v = v;
+            this.w = w;
+            this.cheapest = cheapest;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= SCAN_THRESHOLD) {
+                for (int e = lo; e < hi; e++) {
+                    int a = root[u[e]];
+                    int b = root[v[e]];
+                    if (a == b) continue;
+                    offer(a, e);
+                    offer(b, e);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new CheapestEdgeTask(root, u, v, w, cheapest, lo, mid),
+                      new CheapestEdgeTask(root, u, v, w, cheapest, mid, hi));
+        }
+
+        // Make e the cheapest edge of tree c unless a cheaper one is known
+        private void offer(int c, int e) {
+            while (true) {
+                int current = cheapest.get(c);
+                if (current != -1 && !lighter(current, e)) return;
+                if (cheapest.compareAndSet(c, current, e)) return;
+            }
+        }
+
+        // Edges are ordered by weight then index, so every tree agrees
+        // on a single cheapest edge and no cycle can be formed
+        private boolean lighter(int current, int e) {
+            return w[e] < w[current] || (w[e] == w[current] && e < current);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package algorithms.graph;
+
+import data_structures.unionfind.UnionFind;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Connected components of an undirected graph given as primitive edge
+ * arrays, found with a UnionFind whose edges are unified in parallel
+ */
+public final class ConnectedComponents {
+
+    private ConnectedComponents() { }
+
+    // Returns labels[i], the representative vertex of the component
+    // holding vertex i, using the common fork join pool
+    public static int[] label(int n, int[] u, int[] v) {
+        return label(n, u, v, ForkJoinPool.commonPool());
+    }
+
+    // Returns labels[i], the representative vertex of the component holding vertex i
+    public static int[] label(int n, int[] u, int[] v, ForkJoinPool pool) {
+        Edges.check(n, u, v);
+
+        UnionFind uf = new UnionFind(n);
+        uf.unifyAll(u, v, pool);
+        return labels(uf);
+    }
+
+    // The root of every element of a union find, O(n)
+    static int[] labels(UnionFind uf) {
+        int[] labels = new int[uf.size()];
+        for (int i = 0; i < labels.length; i++) labels[i] = uf.find(i);
+        return labels;
+    }
+}
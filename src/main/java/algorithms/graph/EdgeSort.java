@@ -0,0 +1,93 @@
+package algorithms.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stable parallel merge sort of edge indices by weight. Sorting an int
+ * permutation keeps the caller's edge arrays untouched and avoids boxing
+ * edges into objects just to give them a comparator
+ */
+final class EdgeSort {
+
+    // Ranges at or below this size are sorted on the current thread
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    // Ranges at or below this size are insertion sorted
+    private static final int INSERTION_THRESHOLD = 32;
+
+    private EdgeSort() { }
+
+    // Returns the edge indices ordered by ascending weight, ties keep index order
+    static int[] byWeight(double[] weights, ForkJoinPool pool) {
+        int m = weights.length;
+        int[] order = new int[m];
+        for (int i = 0; i < m; i++) order[i] = i;
+
+        pool.invoke(new SortTask(weights, order, new int[m], 0, m));
+        return order;
+    }
+
+    private static final class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] weights;
+        private final int[] order, buffer;
+        private final int lo, hi;
+
+        SortTask(double[] weights, int[] order, int[] buffer, int lo, int hi) {
+            this.weights = weights;
+            this.order = order;
+            this.buffer = buffer;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= PARALLEL_THRESHOLD) {
+                sort(weights, order, buffer, lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask(weights, order, buffer, lo, mid),
+                      new SortTask(weights, order, buffer, mid, hi));
+            merge(weights, order, buffer, lo, mid, hi);
+        }
+    }
+
+    // Sequential merge sort of order[lo, hi)
+    private static void sort(double[] weights, int[] order, int[] buffer, int lo, int hi) {
+        if (hi - lo <= INSERTION_THRESHOLD) {
+            for (int i = lo + 1; i < hi; i++) {
+                int edge = order[i];
+                int j = i - 1;
+                while (j >= lo && weights[order[j]] > weights[edge]) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = edge;
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        sort(weights, order, buffer, lo, mid);
+        sort(weights, order, buffer, mid, hi);
+        merge(weights, order, buffer, lo, mid, hi);
+    }
+
+    // Merge the sorted runs order[lo, mid) and order[mid, hi)
+    private static void merge(double[] weights, int[] order, int[] buffer, int lo, int mid, int hi) {
+
+        // Already in order, nothing to merge
+        if (weights[order[mid - 1]] <= weights[order[mid]]) return;
+
+        System.arraycopy(order, lo, buffer, lo, hi - lo);
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            order[k++] = weights[buffer[j]] < weights[buffer[i]] ? buffer[j++] : buffer[i++];
+        }
+        while (i < mid) order[k++] = buffer[i++];
+        while (j < hi) order[k++] = buffer[j++];
+    }
+}
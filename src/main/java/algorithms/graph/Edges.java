@@ -0,0 +1,30 @@
+package algorithms.graph;
+
+/**
+ * Validation of graphs given as primitive edge arrays, edge i connects
+ * vertices u[i] and v[i] of a graph with vertices [0, n)
+ */
+final class Edges {
+
+    private Edges() { }
+
+    static void check(int n, int[] u, int[] v) {
+        if (n <= 0) throw new IllegalArgumentException("Vertex count <= 0 is not allowed");
+        if (u.length != v.length) throw new IllegalArgumentException("Edge arrays differ in length");
+
+        for (int i = 0; i < u.length; i++) {
+            if (u[i] < 0 || u[i] >= n || v[i] < 0 || v[i] >= n) {
+                throw new IllegalArgumentException("Edge " + i + " has an endpoint outside [0, " + n + ")");
+            }
+        }
+    }
+
+    static void check(int n, int[] u, int[] v, double[] w) {
+        check(n, u, v);
+        if (w.length != u.length) throw new IllegalArgumentException("Edge arrays differ in length");
+
+        for (int i = 0; i < w.length; i++) {
+            if (Double.isNaN(w[i])) throw new IllegalArgumentException("Edge " + i + " has a NaN weight");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package algorithms.graph;
+
+import data_structures.unionfind.UnionFind;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Kruskal's minimum spanning forest algorithm over primitive edge arrays.
+ * The edges are sorted by weight in parallel and then added in order
+ * whenever a UnionFind says they join two different trees. Stopping once
+ * k trees remain instead of one gives a maximum spacing k-clustering
+ */
+public final class Kruskal {
+
+    private Kruskal() { }
+
+    // Minimum spanning forest of the graph, one tree per connected component
+    public static SpanningForest minimumSpanningForest(int n, int[] u, int[] v, double[] w) {
+        return cluster(n, u, v, w, 1, ForkJoinPool.commonPool());
+    }
+
+    // Minimum spanning forest which stops once k trees remain
+    public static SpanningForest cluster(int n, int[] u, int[] v, double[] w, int k) {
+        return cluster(n, u, v, w, k, ForkJoinPool.commonPool());
+    }
+
+    // Minimum spanning forest which stops once k trees remain, sorting
+    // the edges on the given pool, O(m*log(m))
+    public static SpanningForest cluster(int n, int[] u, int[] v, double[] w, int k, ForkJoinPool pool) {
+        Edges.check(n, u, v, w);
+        if (k < 1 || k > n) throw new IllegalArgumentException("k must be in [1, " + n + "]");
+
+        int[] order = EdgeSort.byWeight(w, pool);
+        UnionFind uf = new UnionFind(n);
+
+        int[] chosen = new int[n - k];
+        int count = 0;
+        double weight = 0;
+
+        // Stop early once the target number of trees is reached
+        for (int i = 0; i < order.length && uf.components() > k; i++) {
+            int e = order[i];
+            if (uf.connected(u[e], v[e])) continue;
+
+            uf.unify(u[e], v[e]);
+            chosen[count++] = e;
+            weight += w[e];
+        }
+
+        return new SpanningForest(Arrays.copyOf(chosen, count), weight, uf.components(),
+                ConnectedComponents.labels(uf));
+    }
+}
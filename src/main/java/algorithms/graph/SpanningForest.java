@@ -0,0 +1,48 @@
+package algorithms.graph;
+
+/**
+ * The result of a minimum spanning forest or k-clustering run over a
+ * graph given as primitive edge arrays. Edges are referred to by their
+ * index in those arrays
+ */
+public final class SpanningForest {
+
+    // Indices of the edges in the forest, in the order they were added
+    private final int[] edges;
+
+    // Total weight of the edges in the forest
+    private final double weight;
+
+    // The number of trees (components/clusters) in the forest
+    private final int components;
+
+    // labels[i] is the representative vertex of the tree holding vertex i
+    private final int[] labels;
+
+    SpanningForest(int[] edges, double weight, int components, int[] labels) {
+        this.edges = edges;
+        this.weight = weight;
+        this.components = components;
+        this.labels = labels;
+    }
+
+    // Indices of the edges in the forest, the array is not copied
+    public int[] edges() {
+        return edges;
+    }
+
+    // Total weight of the edges in the forest
+    public double weight() {
+        return weight;
+    }
+
+    // The number of trees (components/clusters) in the forest
+    public int components() {
+        return components;
+    }
+
+    // The representative vertex of each vertex's tree, the array is not copied
+    public int[] labels() {
+        return labels;
+    }
+}
@@ -0,0 +1,265 @@
+package data_structures.cache;
+
+import data_structures.linkedlist.DoublyLinkedList;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache which evicts the least recently used entries, built on
+ * a HashMap from keys to DoublyLinkedList node handles so that lookups,
+ * promotions and evictions are all O(1).
+ *
+ * The cache is bounded by a maximum total weight. Every entry weighs one
+ * unless a Weigher is given, so by default the bound is an entry count.
+ *
+ * With the SEGMENTED_LRU policy new entries go to a probation segment and
+ * are only promoted to a protected segment on their second hit, so a scan
+ * of one-off keys can't flush the entries which are used repeatedly.
+ * Entries pushed out of the protected segment get a second chance in
+ * probation, and evictions always take from probation first.
+ *
+ * This class is not thread safe
+ * @param <K>
+ * @param <V>
+ */
+public class LruCache <K, V> {
+
+    // Eviction policies
+    public enum Policy {
+        LRU,
+        SEGMENTED_LRU
+    }
+
+    // Computes the weight of an entry, which must not change while cached
+    public interface Weigher <K, V> {
+        long weigh(K key, V value);
+    }
+
+    // Share of the maximum weight the protected segment may hold
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private static final class Entry <K, V> {
+        final K key;
+        V value;
+        long weight;
+
+        // Whether the entry is in the protected segment
+        boolean hot;
+
+        DoublyLinkedList.Node<Entry<K, V>> node;
+
+        Entry(K key, V value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private final Map<K, Entry<K, V>> map = new HashMap<K, Entry<K, V>>();
+
+    // Most recently used entries at the head, the LRU policy only uses probation
+    private final DoublyLinkedList<Entry<K, V>> probation = new DoublyLinkedList<Entry<K, V>>();
+    private final DoublyLinkedList<Entry<K, V>> protectedSegment = new DoublyLinkedList<Entry<K, V>>();
+
+    private final Policy policy;
+    private final Weigher<K, V> weigher;
+    private final long maximumWeight;
+    private final long maximumProtectedWeight;
+
+    private long weight = 0;
+    private long protectedWeight = 0;
+
+    // Statistics
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    // Create an LRU cache holding at most maximumSize entries
+    public LruCache(long maximumSize) {
+        this(maximumSize, null, Policy.LRU);
+    }
+
+    // Create a cache holding entries up to a maximum total weight. A null
+    // weigher weighs every entry as one
+    public LruCache(long maximumWeight, Weigher<K, V> weigher, Policy policy) {
+        if (maximumWeight <= 0) throw new IllegalArgumentException("Maximum weight <= 0 is not allowed");
+        if (policy == null) throw new IllegalArgumentException();
+
+        this.maximumWeight = maximumWeight;
+        this.maximumProtectedWeight = (long) (maximumWeight * PROTECTED_RATIO);
+        this.weigher = weigher;
+        this.policy = policy;
+    }
+
+    // Return the number of entries in the cache
+    public int size() {
+        return map.size();
+    }
+
+    // Check if the cache is empty
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    // Return the total weight of the entries in the cache
+    public long weight() {
+        return weight;
+    }
+
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    public Policy policy() {
+        return policy;
+    }
+
+    // The number of lookups which found an entry
+    public long hitCount() {
+        return hitCount;
+    }
+
+    // The number of lookups which found no entry
+    public long missCount() {
+        return missCount;
+    }
+
+    // The number of entries removed to stay within the maximum weight
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    // Check if there is an entry for key, without counting as a use
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    // Return the value for key and mark it as most recently used,
+    // or null if the key is not cached, O(1)
+    public V get(K key) {
+        Entry<K, V> entry = map.get(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        touch(entry);
+        return entry.value;
+    }
+
+    // Add or replace the value for key as the most recently used entry and
+    // evict entries until the cache fits its maximum weight. Returns the
+    // previous value or null, O(1) amortized
+    public V put(K key, V value) {
+        if (key == null || value == null) throw new IllegalArgumentException();
+
+        long w = weigher == null ? 1 : weigher.weigh(key, value);
+        if (w < 0) throw new IllegalArgumentException("Weight < 0 is not allowed");
+
+        Entry<K, V> entry = map.get(key);
+        V previous = null;
+
+        if (entry != null) {
+            previous = entry.value;
+
+            // Replace in place, adjusting the weight of the segment it's in
+            weight += w - entry.weight;
+            if (entry.hot) protectedWeight += w - entry.weight;
+            entry.value = value;
+            entry.weight = w;
+            touch(entry);
+        } else {
+            entry = new Entry<K, V>(key, value, w);
+            map.put(key, entry);
+            weight += w;
+            entry.node = probation.addFirst(entry);
+        }
+
+        // An entry heavier than the whole cache is evicted right away
+        // instead of flushing every other entry first
+        if (w > maximumWeight) {
+            evict(entry);
+        } else {
+            if (entry.hot) demoteOverflow();
+            while (weight > maximumWeight) evict(victim());
+        }
+
+        return previous;
+    }
+
+    // Remove the entry for key, returning its value or null, O(1)
+    public V remove(K key) {
+        Entry<K, V> entry = map.remove(key);
+        if (entry == null) return null;
+
+        unlink(entry);
+        return entry.value;
+    }
+
+    // Remove every entry, the statistics are kept
+    public void clear() {
+        map.clear();
+        probation.clear();
+        protectedSegment.clear();
+        weight = protectedWeight = 0;
+    }
+
+    // Mark an entry as most recently used, promoting it out of
+    // probation under the segmented policy
+    private void touch(Entry<K, V> entry) {
+        if (entry.hot) {
+            protectedSegment.moveToFront(entry.node);
+        } else if (policy == Policy.LRU) {
+            probation.moveToFront(entry.node);
+        } else {
+            probation.remove(entry.node);
+            entry.node = protectedSegment.addFirst(entry);
+            entry.hot = true;
+            protectedWeight += entry.weight;
+            demoteOverflow();
+        }
+    }
+
+    // Move the least recently used protected entries back into
+    // probation until the protected segment fits its share
+    private void demoteOverflow() {
+        while (protectedWeight > maximumProtectedWeight && protectedSegment.size() > 1) {
+            Entry<K, V> entry = protectedSegment.removeLast();
+            protectedWeight -= entry.weight;
+            entry.hot = false;
+            entry.node = probation.addFirst(entry);
+        }
+    }
+
+    // The next entry to evict, the probation tail if there is one
+    private Entry<K, V> victim() {
+        return probation.isEmpty() ? protectedSegment.peekLast() : probation.peekLast();
+    }
+
+    private void evict(Entry<K, V> entry) {
+        map.remove(entry.key);
+        unlink(entry);
+        evictionCount++;
+    }
+
+    // Take an entry out of its segment list
+    private void unlink(Entry<K, V> entry) {
+        if (entry.hot) {
+            protectedSegment.remove(entry.node);
+            protectedWeight -= entry.weight;
+        } else {
+            probation.remove(entry.node);
+        }
+        weight -= entry.weight;
+        entry.node = null;
+    }
+
+    @Override
+    public String toString() {
+        return "LruCache{policy=" + policy + ", size=" + size() + ", weight=" + weight
+            + "/" + maximumWeight + ", hits=" + hitCount + ", misses=" + missCount
+            + ", evictions=" + evictionCount + "}";
+    }
+}
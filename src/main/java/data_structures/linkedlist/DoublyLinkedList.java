@@ -1,6 +1,11 @@
 package data_structures.linkedlist;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class DoublyLinkedList<T> implements Iterable<T> {
 
@@ -9,6 +14,31 @@ public class DoublyLinkedList<T> implements Iterable<T> {
     private Node <T> head = null;
     private Node <T> tail = null;
 
+    // Removed nodes kept for reuse in pooled mode, chained through next
+    private Node <T> pool = null;
+    private int poolSize = 0;
+
+    // The most nodes kept in the pool, 0 when pooling is off
+    private final int maxPoolSize;
+
+    // Create an empty list
+    public DoublyLinkedList() {
+        this.maxPoolSize = 0;
+    }
+
+    private DoublyLinkedList(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    // Create an empty list which keeps up to maxPoolSize removed nodes and
+    // reuses them for later adds, so steady state churn does not allocate.
+    // A node handle is only valid until its element is removed, after that
+    // it may be handed out again for another element
+    public static <T> DoublyLinkedList<T> pooled(int maxPoolSize) {
+        if (maxPoolSize <= 0) throw new IllegalArgumentException("Pool size <= 0 is not allowed");
+        return new DoublyLinkedList<T>(maxPoolSize);
+    }
+
     // getter methods
     public int size() {
         return size;
@@ -22,19 +52,31 @@ public class DoublyLinkedList<T> implements Iterable<T> {
         return tail;
     }
 
-    // Internal node class to represent data
-    private class Node <T> {
+    // Handle to an element inside the list, returned by addFirst/addLast
+    // for O(1) removal and reordering. A handle is only valid while its
+    // element is in the list, handles of removed elements and of other
+    // lists are rejected with an IllegalArgumentException
+    public static final class Node <T> {
         // == Node fields ==
-        T data;
-        Node <T> prev, next;
+        private T data;
+        private Node <T> prev, next;
+
+        // The list the node is linked into, null once it was removed
+        private DoublyLinkedList<T> owner;
 
         // == Node constructor ==
-        public Node(T data, Node <T> prev, Node <T> next) {
+        private Node(DoublyLinkedList<T> owner, T data, Node <T> prev, Node <T> next) {
+            this.owner = owner;
             this.data = data;
             this.prev = prev;
             this.next = next;
         }
 
+        // The element stored at this node
+        public T data() {
+            return data;
+        }
+
         @Override
         public String toString() {
             return data.toString();
@@ -48,6 +90,7 @@ public class DoublyLinkedList<T> implements Iterable<T> {
             Node<T> next = traverse.next;
             traverse.prev = traverse.next = null;
             traverse.data = null;
+            recycle(traverse);
             traverse = next;
         }
         head = tail = traverse = null;
@@ -64,31 +107,34 @@ public class DoublyLinkedList<T> implements Iterable<T> {
         addLast(elem);
     }
 
-    public void addLast(T elem) {
+    // Add an element to the tail of the linked list and return its node, O(1)
+    public Node<T> addLast(T elem) {
 
         // The linked list is empty
         if (isEmpty()) {
-            head = tail = new Node<T> (elem, null, null);
+            head = tail = newNode(elem, null, null);
         } else {
-            tail.next = new Node<T>(elem, tail, null);
+            tail.next = newNode(elem, tail, null);
             tail = tail.next;
         }
 
         size++;
+        return tail;
     }
 
-    // And an element to the beginning of the linked list
-    public void addFirst(T elem) {
+    // And an element to the beginning of the linked list and return its node, O(1)
+    public Node<T> addFirst(T elem) {
 
         // The linked list is empty
         if (isEmpty()) {
-            head = tail = new Node<T> (elem, null, null);
+            head = tail = newNode(elem, null, null);
         } else {
-            head.prev = new Node<T>(elem, null, head);
+            head.prev = newNode(elem, null, head);
             head = head.prev;
         }
 
         size++;
+        return head;
     }
 
     // Check the value of the first node if it exists
@@ -109,18 +155,7 @@ public class DoublyLinkedList<T> implements Iterable<T> {
         // Can't remove data from an empty list so throw exception
         if (isEmpty()) throw new RuntimeException("Empty List");
 
-        T data = head.data;
-        head = head.next;
-        -- size;
-
-        // If the list is empty set the tail to null as well
-        if (isEmpty()) tail = null;
-
-        // Do a memory clean of the previous node
-        else head.prev = null;
-
-        // Return the data that was at the first node we just removed
-        return data;
+        return remove(head);
     }
 
     // Remove the last value at the tail of the linked list
@@ -129,45 +164,50 @@ public class DoublyLinkedList<T> implements Iterable<T> {
         // Can't remove data from an empty list so throw exception
         if (isEmpty()) throw new RuntimeException("Empty List");
 
-        T data = tail.data;
-        tail = tail.prev;
-        --size;
-
-        // If the list is empty set the head to null as well
-        if (isEmpty()) head = null;
-
-        // Do a memory clean of the next node
-        else tail.next = null;
-
-        // Return the data that was at the last node we just removed
-        return data;
+        return remove(tail);
     }
 
-    // Remove an arbitrary node from the linked list
+    // Remove an arbitrary node from the linked list, O(1)
     public T remove(Node<T> node) {
+        checkInList(node);
 
-        // If the node to remove is somewhere either at the
-        // head or the tail handle those independently
-        if (node.prev == null) return removeFirst();
-        if (node.next == null) return removeLast();
-
-        // Make the pointers of the adjacent node skip over the node to be removed
-        node.next.prev = node.prev;
-        node.prev.next = node.next;
+        // Make the pointers of the adjacent nodes skip over the node to be removed
+        unlink(node);
+        --size;
 
         // Temporary store the data we want to return
         T data = node.data;
 
         // Memory cleanup
         node.data = null;
-        node = node.prev = node.next = null;
-
-        --size;
+        recycle(node);
 
         // Return the data at the node we just removed
         return data;
     }
 
+    // Move a node of this list to the head, O(1)
+    public void moveToFront(Node<T> node) {
+        checkInList(node);
+        if (node == head) return;
+
+        unlink(node);
+        node.next = head;
+        head.prev = node;
+        head = node;
+    }
+
+    // Move a node of this list to the tail, O(1)
+    public void moveToBack(Node<T> node) {
+        checkInList(node);
+        if (node == tail) return;
+
+        unlink(node);
+        node.prev = tail;
+        tail.next = node;
+        tail = node;
+    }
+
     // Remove a node at a particular index
     public T removeAt(int index) {
 
@@ -254,24 +294,134 @@ public class DoublyLinkedList<T> implements Iterable<T> {
     public Iterator<T> iterator() {
         return new Iterator<T>() {
             private Node<T> traverse = head;
+            private Node<T> lastReturned = null;
+
             public boolean hasNext() {
-                return head.next != null;
+                return traverse != null;
             }
 
             public T next() {
-                T data = traverse.data;
+                if (traverse == null) throw new NoSuchElementException();
+                lastReturned = traverse;
                 traverse = traverse.next;
-                return data;
+                return lastReturned.data;
             }
 
             public void remove() {
-                Node<T> toRemove = traverse;
-                traverse = traverse.next;
-                DoublyLinkedList.this.remove(toRemove);
+                if (lastReturned == null) throw new IllegalStateException();
+                DoublyLinkedList.this.remove(lastReturned);
+                lastReturned = null;
             }
         };
     }
 
+    // A sized spliterator from head to tail which splits in half by
+    // walking to the middle node. The list must not be modified while
+    // the spliterator is in use
+    @Override
+    public Spliterator<T> spliterator() {
+        return new NodeSpliterator<T>(head, size);
+    }
+
+    // Returns a sequential stream from head to tail
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    // Returns a parallel stream from head to tail
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    // Covers the next 'remaining' nodes starting at 'current'
+    private static final class NodeSpliterator <T> implements Spliterator<T> {
+        private Node<T> current;
+        private int remaining;
+
+        NodeSpliterator(Node<T> current, int remaining) {
+            this.current = current;
+            this.remaining = remaining;
+        }
+
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (remaining == 0) return false;
+            T data = current.data;
+            current = current.next;
+            remaining--;
+            action.accept(data);
+            return true;
+        }
+
+        public void forEachRemaining(Consumer<? super T> action) {
+            Node<T> traverse = current;
+            int n = remaining;
+            current = null;
+            remaining = 0;
+            for (; n > 0; n--, traverse = traverse.next) action.accept(traverse.data);
+        }
+
+        // Hand the first half to a new spliterator and keep the second
+        public Spliterator<T> trySplit() {
+            int half = remaining >>> 1;
+            if (half == 0) return null;
+
+            Node<T> start = current;
+            for (int i = 0; i < half; i++) current = current.next;
+            remaining -= half;
+            return new NodeSpliterator<T>(start, half);
+        }
+
+        public long estimateSize() {
+            return remaining;
+        }
+
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+
+    // Take a node from the pool if there is one, otherwise allocate
+    private Node<T> newNode(T elem, Node<T> prev, Node<T> next) {
+        Node<T> node = pool;
+        if (node == null) return new Node<T>(this, elem, prev, next);
+
+        pool = node.next;
+        poolSize--;
+        node.owner = this;
+        node.data = elem;
+        node.prev = prev;
+        node.next = next;
+        return node;
+    }
+
+    // Disown an unlinked and cleared node and return it
+    // to the pool if it has room
+    private void recycle(Node<T> node) {
+        node.owner = null;
+        if (poolSize == maxPoolSize) return;
+        node.next = pool;
+        pool = node;
+        poolSize++;
+    }
+
+    // Detach a node from its neighbours, fixing up the head and tail
+    private void unlink(Node<T> node) {
+        if (node.prev == null) head = node.next;
+        else node.prev.next = node.next;
+
+        if (node.next == null) tail = node.prev;
+        else node.next.prev = node.prev;
+
+        node.prev = node.next = null;
+    }
+
+    // Reject handles of other lists and of removed elements
+    private void checkInList(Node<T> node) {
+        if (node == null || node.owner != this) {
+            throw new IllegalArgumentException("Node is not in the list");
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
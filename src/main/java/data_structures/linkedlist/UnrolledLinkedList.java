@@ -0,0 +1,376 @@
+package data_structures.linkedlist;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A doubly linked list which stores a small array of elements in every
+ * node (an unrolled linked list). Scans such as indexOf, contains and
+ * remove walk contiguous arrays instead of chasing one pointer per
+ * element, and the per node overhead is shared by many elements.
+ *
+ * A full node is split in two when an element is inserted into it and
+ * a node which drops below half full after a removal is merged with a
+ * neighbour when their elements fit in one node
+ * @param <T>
+ */
+public class UnrolledLinkedList<T> implements Iterable<T> {
+
+    private static final int DEFAULT_NODE_CAPACITY = 32;
+
+    // == fields ==
+    private int size = 0;
+    private Node head = null;
+    private Node tail = null;
+
+    // The maximum number of elements per node
+    private final int nodeCapacity;
+
+    // Bumped on every structural change so iterators can fail fast
+    private int modCount = 0;
+
+    // Internal node class holding a run of consecutive elements
+    private final class Node {
+        // == Node fields ==
+        final Object[] items = new Object[nodeCapacity];
+        int count = 0;
+        Node prev, next;
+    }
+
+    // Create an empty list
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    // Create an empty list holding up to nodeCapacity elements per node
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 2) throw new IllegalArgumentException("Node capacity < 2 is not allowed");
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    // getter methods
+    public int size() {
+        return size;
+    }
+
+    // Empty this linked list, O(n)
+    public void clear() {
+        Node traverse = head;
+        while (traverse != null) {
+            Node next = traverse.next;
+            traverse.prev = traverse.next = null;
+            for (int i = 0; i < traverse.count; i++) traverse.items[i] = null;
+            traverse = next;
+        }
+        head = tail = null;
+        size = 0;
+        modCount++;
+    }
+
+    // Is this linked list empty
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Add an element to the tail of the linked list, O(1)
+    public void add(T elem) {
+        addLast(elem);
+    }
+
+    // Add an element to the tail of the linked list, O(1)
+    public void addLast(T elem) {
+
+        // Start a new node rather than splitting a full tail,
+        // so appending leaves every node but the last one full
+        if (tail == null || tail.count == nodeCapacity) linkAfter(tail, new Node());
+
+        tail.items[tail.count++] = elem;
+        size++;
+        modCount++;
+    }
+
+    // Add an element to the beginning of the linked list, O(node capacity)
+    public void addFirst(T elem) {
+
+        if (head == null || head.count == nodeCapacity) linkBefore(head, new Node());
+
+        System.arraycopy(head.items, 0, head.items, 1, head.count);
+        head.items[0] = elem;
+        head.count++;
+        size++;
+        modCount++;
+    }
+
+    // Insert an element so it ends up at a particular index, O(n/node capacity)
+    public void add(int index, T elem) {
+
+        // Make sure the index provided is valid
+        if (index < 0 || index > size) throw new IllegalArgumentException();
+
+        if (index == size) {
+            addLast(elem);
+            return;
+        }
+
+        // Find the node holding the element currently at index
+        Node node = head;
+        int offset = index;
+        while (offset >= node.count) {
+            offset -= node.count;
+            node = node.next;
+        }
+
+        // Split a full node, moving its upper half to a new node
+        if (node.count == nodeCapacity) {
+            Node upper = new Node();
+            int half = nodeCapacity / 2;
+            upper.count = nodeCapacity - half;
+            System.arraycopy(node.items, half, upper.items, 0, upper.count);
+            for (int i = half; i < nodeCapacity; i++) node.items[i] = null;
+            node.count = half;
+            linkAfter(node, upper);
+
+            if (offset > half) {
+                node = upper;
+                offset -= half;
+            }
+        }
+
+        System.arraycopy(node.items, offset, node.items, offset + 1, node.count - offset);
+        node.items[offset] = elem;
+        node.count++;
+        size++;
+        modCount++;
+    }
+
+    // Check the value of the first node if it exists
+    @SuppressWarnings("unchecked")
+    public T peekFirst() {
+        if (isEmpty()) throw new RuntimeException("Empty List");
+        return (T) head.items[0];
+    }
+
+    // Check the value of the last node if it exists
+    @SuppressWarnings("unchecked")
+    public T peekLast() {
+        if (isEmpty()) throw new RuntimeException("Empty List");
+        return (T) tail.items[tail.count - 1];
+    }
+
+    // Remove the first value at the head of the linked list
+    public T removeFirst() {
+
+        // Can't remove data from an empty list so throw exception
+        if (isEmpty()) throw new RuntimeException("Empty List");
+        return remove(head, 0);
+    }
+
+    // Remove the last value at the tail of the linked list
+    public T removeLast() {
+
+        // Can't remove data from an empty list so throw exception
+        if (isEmpty()) throw new RuntimeException("Empty List");
+        return remove(tail, tail.count - 1);
+    }
+
+    // Remove an element at a particular index
+    public T removeAt(int index) {
+
+        // Make sure the index provided is valid
+        if (index < 0 || index >= size) throw new IllegalArgumentException();
+
+        Node traverse;
+        int offset;
+
+        // Select from the front of the list
+        if (index < size / 2) {
+            traverse = head;
+            offset = index;
+            while (offset >= traverse.count) {
+                offset -= traverse.count;
+                traverse = traverse.next;
+            }
+        } else {
+            // Search from the back of the list
+            traverse = tail;
+            offset = size - 1 - index;
+            while (offset >= traverse.count) {
+                offset -= traverse.count;
+                traverse = traverse.prev;
+            }
+            offset = traverse.count - 1 - offset;
+        }
+
+        return remove(traverse, offset);
+    }
+
+    // Remove a particular value in the linked list
+    public boolean remove(Object object) {
+        for (Node traverse = head; traverse != null; traverse = traverse.next) {
+            int offset = indexIn(traverse, object);
+            if (offset != -1) {
+                remove(traverse, offset);
+                return true;
+            }
+        }
+
+        // Value was not found
+        return false;
+    }
+
+    // Find the index of a particular value in the linked list
+    public int indexOf(Object object) {
+        int index = 0;
+        for (Node traverse = head; traverse != null; traverse = traverse.next) {
+            int offset = indexIn(traverse, object);
+            if (offset != -1) return index + offset;
+            index += traverse.count;
+        }
+
+        // Index not found
+        return -1;
+    }
+
+    // Check if the value is contained within the linked list
+    public boolean contains(Object obj) {
+        return indexOf(obj) != -1;
+    }
+
+    // Implement iterator
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node node = head;
+            private int offset = 0;
+            private int index = 0;
+            private int lastReturned = -1;
+            private int expectedModCount = modCount;
+
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (index >= size) throw new NoSuchElementException();
+
+                if (offset == node.count) {
+                    node = node.next;
+                    offset = 0;
+                }
+                lastReturned = index++;
+                return (T) node.items[offset++];
+            }
+
+            public void remove() {
+                if (lastReturned == -1) throw new IllegalStateException();
+                if (expectedModCount != modCount) throw new ConcurrentModificationException();
+
+                // Removing may merge nodes, so find the cursor again
+                removeAt(lastReturned);
+                index = lastReturned;
+                lastReturned = -1;
+                expectedModCount = modCount;
+
+                node = head;
+                offset = index;
+                while (node != null && offset > node.count) {
+                    offset -= node.count;
+                    node = node.next;
+                }
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (Node traverse = head; traverse != null; traverse = traverse.next) {
+            for (int i = 0; i < traverse.count; i++) sb.append(traverse.items[i] + ", ");
+        }
+        sb.append(" ]");
+        return sb.toString();
+    }
+
+    // Linear scan of a single node for a value
+    private int indexIn(Node node, Object object) {
+        Object[] items = node.items;
+        if (object == null) {
+            for (int i = 0; i < node.count; i++) {
+                if (items[i] == null) return i;
+            }
+        } else {
+            for (int i = 0; i < node.count; i++) {
+                if (object.equals(items[i])) return i;
+            }
+        }
+        return -1;
+    }
+
+    // Remove the element at an offset within a node, merging the node
+    // with a neighbour once it is less than half full
+    @SuppressWarnings("unchecked")
+    private T remove(Node node, int offset) {
+        T data = (T) node.items[offset];
+
+        System.arraycopy(node.items, offset + 1, node.items, offset, node.count - offset - 1);
+        node.items[--node.count] = null;
+        size--;
+        modCount++;
+
+        if (node.count == 0) {
+            unlink(node);
+        } else if (node.count < nodeCapacity / 2) {
+            if (node.next != null && node.count + node.next.count <= nodeCapacity) {
+                merge(node, node.next);
+            } else if (node.prev != null && node.prev.count + node.count <= nodeCapacity) {
+                merge(node.prev, node);
+            }
+        }
+
+        // Return the data that was removed
+        return data;
+    }
+
+    // Append the elements of right to left and drop right from the list
+    private void merge(Node left, Node right) {
+        System.arraycopy(right.items, 0, left.items, left.count, right.count);
+        left.count += right.count;
+        unlink(right);
+    }
+
+    private void linkAfter(Node at, Node node) {
+        node.prev = at;
+        if (at == null) {
+            node.next = head;
+            if (head != null) head.prev = node;
+            head = node;
+        } else {
+            node.next = at.next;
+            if (at.next != null) at.next.prev = node;
+            at.next = node;
+        }
+        if (node.next == null) tail = node;
+    }
+
+    private void linkBefore(Node at, Node node) {
+        if (at == null) {
+            linkAfter(tail, node);
+        } else {
+            linkAfter(at.prev, node);
+        }
+    }
+
+    // Memory cleanup of a node leaving the list
+    private void unlink(Node node) {
+        if (node.prev == null) head = node.next;
+        else node.prev.next = node.next;
+
+        if (node.next == null) tail = node.prev;
+        else node.next.prev = node.prev;
+
+        node.prev = node.next = null;
+    }
+}
@@ -0,0 +1,28 @@
+package data_structures.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count. Backed by a LongAdder, which spreads
+ * concurrent increments over striped cells instead of contending on one
+ * word, so it is cheap to bump from many threads
+ */
+public final class Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter() { }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long n) {
+        count.add(n);
+    }
+
+    // The current count, not an atomic snapshot while being incremented
+    public long sum() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,29 @@
+package data_structures.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * The largest value ever reported, eg. the peak size of a queue. Backed
+ * by a striped LongAccumulator so concurrent updates rarely contend
+ */
+public final class HighWaterMark {
+
+    private static final LongBinaryOperator MAX = new LongBinaryOperator() {
+        public long applyAsLong(long left, long right) {
+            return Math.max(left, right);
+        }
+    };
+
+    private final LongAccumulator max = new LongAccumulator(MAX, 0);
+
+    HighWaterMark() { }
+
+    public void update(long value) {
+        max.accumulate(value);
+    }
+
+    public long get() {
+        return max.get();
+    }
+}
@@ -0,0 +1,88 @@
+package data_structures.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non negative values, eg. path lengths or latencies in
+ * nanoseconds, with one bucket per power of two. Recording a value is a
+ * leading zero count and a striped counter increment; percentiles are
+ * reported as the upper bound of their bucket, so within a factor of two
+ */
+public final class Histogram {
+
+    // Bucket 0 holds the value 0 and bucket b holds [2^(b-1), 2^b - 1]
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder sum = new LongAdder();
+    private final HighWaterMark max = new HighWaterMark();
+
+    Histogram() {
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = new LongAdder();
+    }
+
+    // Record a value, negative values are counted as 0
+    public void record(long value) {
+        if (value < 0) value = 0;
+        buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value))].increment();
+        sum.add(value);
+        max.update(value);
+    }
+
+    // Take a copy of the current counts
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) counts[i] = buckets[i].sum();
+        return new Snapshot(counts, sum.sum(), max.get());
+    }
+
+    // An immutable copy of a histogram
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private Snapshot(long[] counts, long sum, long max) {
+            long count = 0;
+            for (long c : counts) count += c;
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long max() {
+            return max;
+        }
+
+        public double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        // The value at or below which a fraction p of the values fall,
+        // rounded up to the bucket bound and capped at the maximum
+        public long percentile(double p) {
+            if (p < 0 || p > 1) throw new IllegalArgumentException("Percentile must be in [0, 1]");
+            if (count == 0) return 0;
+
+            long rank = Math.max(1, (long) Math.ceil(p * count));
+            long seen = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                seen += counts[b];
+                if (seen >= rank) return b == 0 ? 0 : Math.min(max, b == 63 ? Long.MAX_VALUE : (1L << b) - 1);
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "{count=" + count + ", mean=" + mean() + ", p50=" + percentile(0.5)
+                + ", p99=" + percentile(0.99) + ", max=" + max + "}";
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package data_structures.metrics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exposes a Metrics registry as a read only JMX MBean. Every counter and
+ * high water mark is an attribute, and every histogram 'name' becomes
+ * the attributes name.count, name.mean, name.p50, name.p90, name.p99 and
+ * name.max. Values are read from the registry when JMX asks for them, so
+ * metrics created after registration show up too
+ */
+public class JmxMetrics implements DynamicMBean {
+
+    private final Metrics metrics;
+
+    public JmxMetrics(Metrics metrics) {
+        if (metrics == null) throw new IllegalArgumentException();
+        this.metrics = metrics;
+    }
+
+    // Register an MBean for the registry with the platform MBean server
+    public static ObjectName register(Metrics metrics, String objectName) {
+        try {
+            ObjectName name = new ObjectName(objectName);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new JmxMetrics(metrics), name);
+            return name;
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Cannot register " + objectName, e);
+        }
+    }
+
+    // Remove a registered MBean again
+    public static void unregister(ObjectName name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Cannot unregister " + name, e);
+        }
+    }
+
+    // Flatten a snapshot into attribute values, sorted by name
+    private Map<String, Object> attributes() {
+        MetricsSnapshot snapshot = metrics.snapshot();
+        Map<String, Object> attributes = new TreeMap<String, Object>();
+        attributes.putAll(snapshot.counters());
+        attributes.putAll(snapshot.highWaterMarks());
+        for (Map.Entry<String, Histogram.Snapshot> entry : snapshot.histograms().entrySet()) {
+            String name = entry.getKey();
+            Histogram.Snapshot histogram = entry.getValue();
+            attributes.put(name + ".count", histogram.count());
+            attributes.put(name + ".mean", histogram.mean());
+            attributes.put(name + ".p50", histogram.percentile(0.5));
+            attributes.put(name + ".p90", histogram.percentile(0.9));
+            attributes.put(name + ".p99", histogram.percentile(0.99));
+            attributes.put(name + ".max", histogram.max());
+        }
+        return attributes;
+    }
+
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Object value = attributes().get(attribute);
+        if (value == null) throw new AttributeNotFoundException(attribute);
+        return value;
+    }
+
+    public AttributeList getAttributes(String[] names) {
+        Map<String, Object> attributes = attributes();
+        AttributeList list = new AttributeList();
+        for (String name : names) {
+            Object value = attributes.get(name);
+            if (value != null) list.add(new Attribute(name, value));
+        }
+        return list;
+    }
+
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read only");
+    }
+
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    // There are no operations, only attributes
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> infos = new ArrayList<MBeanAttributeInfo>();
+        for (Map.Entry<String, Object> entry : attributes().entrySet()) {
+            infos.add(new MBeanAttributeInfo(entry.getKey(), entry.getValue().getClass().getName(),
+                    entry.getKey(), true, false, false));
+        }
+        return new MBeanInfo(getClass().getName(), "Data structure metrics",
+                infos.toArray(new MBeanAttributeInfo[0]), null, null, null);
+    }
+}
@@ -0,0 +1,80 @@
+package data_structures.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A registry of named counters, high water marks and histograms which
+ * data structures record into once instrumented, eg.
+ *
+ *     Metrics metrics = new Metrics();
+ *     queue.instrument(metrics, "jobs");
+ *     JmxMetrics.register(metrics, "data_structures:type=Metrics");
+ *
+ * Metrics are created on first use and live as long as the registry.
+ * The registry is thread safe, and snapshot() or reportTo() read it
+ * without stopping writers
+ */
+public class Metrics {
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<String, Counter>();
+    private final ConcurrentMap<String, HighWaterMark> highWaterMarks = new ConcurrentHashMap<String, HighWaterMark>();
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
+
+    // Return the counter with a name, creating it if needed
+    public Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter != null) return counter;
+
+        Counter created = new Counter();
+        counter = counters.putIfAbsent(name, created);
+        return counter == null ? created : counter;
+    }
+
+    // Return the high water mark with a name, creating it if needed
+    public HighWaterMark highWaterMark(String name) {
+        HighWaterMark mark = highWaterMarks.get(name);
+        if (mark != null) return mark;
+
+        HighWaterMark created = new HighWaterMark();
+        mark = highWaterMarks.putIfAbsent(name, created);
+        return mark == null ? created : mark;
+    }
+
+    // Return the histogram with a name, creating it if needed
+    public Histogram histogram(String name) {
+        Histogram histogram = histograms.get(name);
+        if (histogram != null) return histogram;
+
+        Histogram created = new Histogram();
+        histogram = histograms.putIfAbsent(name, created);
+        return histogram == null ? created : histogram;
+    }
+
+    // Take a copy of every metric, sorted by name
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counts = new TreeMap<String, Long>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().sum());
+        }
+
+        Map<String, Long> marks = new TreeMap<String, Long>();
+        for (Map.Entry<String, HighWaterMark> entry : highWaterMarks.entrySet()) {
+            marks.put(entry.getKey(), entry.getValue().get());
+        }
+
+        Map<String, Histogram.Snapshot> distributions = new TreeMap<String, Histogram.Snapshot>();
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            distributions.put(entry.getKey(), entry.getValue().snapshot());
+        }
+
+        return new MetricsSnapshot(counts, marks, distributions);
+    }
+
+    // Hand a snapshot of every metric to a sink
+    public void reportTo(MetricsSink sink) {
+        sink.report(snapshot());
+    }
+}
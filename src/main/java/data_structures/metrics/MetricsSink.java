@@ -0,0 +1,9 @@
+package data_structures.metrics;
+
+/**
+ * Receives snapshots pushed by Metrics.reportTo, eg. to log them or
+ * forward them to a monitoring system. JmxMetrics covers the pull side
+ */
+public interface MetricsSink {
+    void report(MetricsSnapshot snapshot);
+}
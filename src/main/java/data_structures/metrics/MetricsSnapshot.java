@@ -0,0 +1,49 @@
+package data_structures.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * An immutable copy of every metric in a registry at one point in time,
+ * each map sorted by metric name
+ */
+public final class MetricsSnapshot {
+
+    private final Map<String, Long> counters;
+    private final Map<String, Long> highWaterMarks;
+    private final Map<String, Histogram.Snapshot> histograms;
+
+    MetricsSnapshot(Map<String, Long> counters, Map<String, Long> highWaterMarks,
+                    Map<String, Histogram.Snapshot> histograms) {
+        this.counters = Collections.unmodifiableMap(counters);
+        this.highWaterMarks = Collections.unmodifiableMap(highWaterMarks);
+        this.histograms = Collections.unmodifiableMap(histograms);
+    }
+
+    public Map<String, Long> counters() {
+        return counters;
+    }
+
+    public Map<String, Long> highWaterMarks() {
+        return highWaterMarks;
+    }
+
+    public Map<String, Histogram.Snapshot> histograms() {
+        return histograms;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            sb.append(entry.getKey()).append(" = ").append(entry.getValue()).append('\n');
+        }
+        for (Map.Entry<String, Long> entry : highWaterMarks.entrySet()) {
+            sb.append(entry.getKey()).append(" max = ").append(entry.getValue()).append('\n');
+        }
+        for (Map.Entry<String, Histogram.Snapshot> entry : histograms.entrySet()) {
+            sb.append(entry.getKey()).append(" ").append(entry.getValue()).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,158 @@
+package data_structures.priorityQueue;
+
+import java.util.*;
+
+/**
+ * A fixed capacity priority queue which retains the K smallest elements
+ * offered to it (eg. the best K results of a stream). The retained
+ * elements are kept in a binary max heap so the root is the largest one
+ * retained; once the queue is full a new element costs a single
+ * comparison against the root when it cannot make the top K, and
+ * replaces the root in place when it can. Memory stays O(K)
+ * @param <T>
+ */
+public class BoundedPriorityQueue <T extends Comparable<T>> {
+
+    // The maximum number of elements retained
+    private final int capacity;
+
+    // The number of elements currently inside the heap
+    private int heapSize = 0;
+
+    // The max heap of retained elements
+    private final T[] heap;
+
+    // Construct an empty queue retaining at most capacity elements
+    @SuppressWarnings("unchecked")
+    public BoundedPriorityQueue(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity <= 0 is not allowed");
+
+        this.capacity = capacity;
+        heap = (T[]) new Comparable<?>[capacity];
+    }
+
+    // Returns the number of elements retained
+    public int size() {
+        return heapSize;
+    }
+
+    // Returns the maximum number of elements retained
+    public int capacity() {
+        return capacity;
+    }
+
+    // Returns true/false depending on if the queue is empty
+    public boolean isEmpty() {
+        return heapSize == 0;
+    }
+
+    // Returns true/false depending on if the queue is full
+    public boolean isFull() {
+        return heapSize == capacity;
+    }
+
+    // Clears everything in the queue, O(K)
+    public void clear() {
+        Arrays.fill(heap, 0, heapSize, null);
+        heapSize = 0;
+    }
+
+    // Returns the largest element retained, or null if the queue is empty.
+    // Once the queue is full an element must be smaller than this one to
+    // be retained
+    public T peek() {
+        if (isEmpty()) return null;
+        return heap[0];
+    }
+
+    // Removes and returns the largest element retained, O(log(K))
+    public T poll() {
+        if (isEmpty()) return null;
+
+        T removed = heap[0];
+        heap[0] = heap[--heapSize];
+        heap[heapSize] = null;
+        if (heapSize > 0) sink(0);
+        return removed;
+    }
+
+    // Offers an element to the queue, the element must not be null.
+    // Returns true if the element was retained, O(log(K))
+    public boolean offer(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+
+        if (heapSize < capacity) {
+            heap[heapSize] = elem;
+            swim(heapSize++);
+            return true;
+        }
+
+        // Fast path rejection, an element which is not smaller than
+        // the largest one retained cannot make the top K
+        if (elem.compareTo(heap[0]) >= 0) return false;
+
+        // Replace the largest element in place
+        heap[0] = elem;
+        sink(0);
+        return true;
+    }
+
+    // Offers every remaining element of a stream to the queue.
+    // Returns the number of elements retained at the time they were offered
+    public int offerAll(Iterator <? extends T> elems) {
+        int retained = 0;
+        while (elems.hasNext()) {
+            if (offer(elems.next())) retained++;
+        }
+        return retained;
+    }
+
+    // Returns the retained elements in ascending order, O(K*log(K))
+    public List<T> toSortedList() {
+        List<T> list = new ArrayList<T>(Arrays.asList(heap).subList(0, heapSize));
+        Collections.sort(list);
+        return list;
+    }
+
+    // Tests if the value of node i >= node j
+    private boolean greater(int i, int j) {
+        return heap[i].compareTo(heap[j]) >= 0;
+    }
+
+    // Bottom up node swim, O(log(K))
+    private void swim(int k) {
+        int parentIndex = (k-1) / 2;
+        while (k > 0 && !greater(parentIndex, k)) {
+            swap(parentIndex, k);
+            k = parentIndex;
+            parentIndex = (k-1) / 2;
+        }
+    }
+
+    // Top down node sink, O(log(K))
+    private void sink(int k) {
+        while (true) {
+            int left = 2*k + 1;
+            int right = 2*k + 2;
+            int largest = left;
+
+            if (right < heapSize && greater(right, left)) largest = right;
+            if (left >= heapSize || greater(k, largest)) break;
+
+            swap(largest, k);
+            k = largest;
+        }
+    }
+
+    // Swap two nodes. Assume i & j are valid, O(1)
+    private void swap(int i, int j) {
+        T tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.asList(heap).subList(0, heapSize).toString();
+    }
+}
@@ -0,0 +1,273 @@
+package data_structures.priorityQueue;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread safe minimum priority queue built from k independently locked
+ * heaps (a MultiQueue). Producers insert into a random unlocked heap so
+ * adds never wait on a single global lock.
+ *
+ * In RELAXED mode poll takes the smaller root of two randomly chosen
+ * heaps, which returns an element close to, but not always exactly, the
+ * global minimum and scales with the number of threads. In STRICT mode
+ * poll and peek lock every heap and return the exact global minimum.
+ *
+ * Each shard is a plain array binary heap with its own element count, so
+ * there is no handle index to maintain and no counter shared by every
+ * producer and consumer
+ * @param <T>
+ */
+public class ConcurrentPriorityQueue <T extends Comparable<T>> {
+
+    // The ordering guarantee offered by poll and peek
+    public enum Ordering { STRICT, RELAXED }
+
+    private final Ordering ordering;
+
+    // The independent heaps, each guarded by its own lock
+    private final Shard<T>[] shards;
+
+    // Snapshot of the root of each heap, published after every change
+    // so pollers can compare heaps without taking their locks
+    private final AtomicReferenceArray<T> tops;
+
+    // A binary min heap and the lock guarding it. The size is only
+    // written under the lock but read without it by size()
+    private static final class Shard <T extends Comparable<T>> {
+        final ReentrantLock lock = new ReentrantLock();
+        Object[] heap = new Object[16];
+        volatile int size = 0;
+
+        @SuppressWarnings("unchecked")
+        T peek() {
+            return size == 0 ? null : (T) heap[0];
+        }
+
+        // Bottom up node swim, O(log(n))
+        void add(T elem) {
+            int k = size;
+            if (k == heap.length) heap = Arrays.copyOf(heap, k << 1);
+            while (k > 0) {
+                int parent = (k-1) / 2;
+                if (!less(elem, heap[parent])) break;
+                heap[k] = heap[parent];
+                k = parent;
+            }
+            heap[k] = elem;
+            size++;
+        }
+
+        // Removes the root and sinks the last element from the top, O(log(n))
+        @SuppressWarnings("unchecked")
+        T poll() {
+            int n = size;
+            if (n == 0) return null;
+
+            T removed = (T) heap[0];
+            Object last = heap[--n];
+            heap[n] = null;
+            int k = 0;
+            while (true) {
+                int smallest = 2*k + 1;
+                if (smallest >= n) break;
+                if (smallest + 1 < n && less(heap[smallest + 1], heap[smallest])) smallest++;
+                if (!less(heap[smallest], last)) break;
+                heap[k] = heap[smallest];
+                k = smallest;
+            }
+            if (n > 0) heap[k] = last;
+            size = n;
+            return removed;
+        }
+
+        void clear() {
+            Arrays.fill(heap, 0, size, null);
+            size = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean less(Object a, Object b) {
+            return ((T) a).compareTo((T) b) < 0;
+        }
+    }
+
+    // Construct a relaxed queue with two heaps per available processor
+    public ConcurrentPriorityQueue() {
+        this(2 * Runtime.getRuntime().availableProcessors(), Ordering.RELAXED);
+    }
+
+    // Construct a queue with a given number of heaps and ordering
+    @SuppressWarnings("unchecked")
+    public ConcurrentPriorityQueue(int shards, Ordering ordering) {
+        if (shards <= 0) throw new IllegalArgumentException("Shards <= 0 is not allowed");
+        if (ordering == null) throw new IllegalArgumentException();
+
+        this.ordering = ordering;
+        this.shards = (Shard<T>[]) new Shard<?>[shards];
+        tops = new AtomicReferenceArray<T>(shards);
+        for (int i = 0; i < shards; i++) this.shards[i] = new Shard<T>();
+    }
+
+    // Returns the number of elements in the queue, a snapshot
+    // of the shard counts when called concurrently
+    public int size() {
+        int size = 0;
+        for (Shard<T> shard : shards) size += shard.size;
+        return size;
+    }
+
+    // Returns true/false depending on if the priority queue is empty
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Returns the ordering guarantee of this queue
+    public Ordering ordering() {
+        return ordering;
+    }
+
+    // Adds an element to a random unlocked heap, the
+    // element must not be null, O(log(n/k))
+    public void add(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+
+        while (true) {
+            int i = randomShard();
+            Shard<T> shard = shards[i];
+
+            // Strict pollers hold every lock, so waiting is
+            // better than spinning for a free heap
+            if (ordering == Ordering.STRICT) shard.lock.lock();
+            else if (!shard.lock.tryLock()) continue;
+            try {
+                shard.add(elem);
+                tops.set(i, shard.peek());
+                return;
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    // Removes and returns a minimal element, or null if the queue is empty
+    public T poll() {
+        if (ordering == Ordering.STRICT) return pollStrict();
+
+        while (true) {
+
+            // Pick the better of two random heaps, falling back to a
+            // scan when both of them are empty. No published root
+            // anywhere means the queue is empty
+            int i = randomShard();
+            int j = randomShard();
+            int k = better(i, j);
+            if (tops.get(k) == null && (k = firstNonEmpty()) < 0) return null;
+
+            Shard<T> shard = shards[k];
+            if (!shard.lock.tryLock()) continue;
+            try {
+                T elem = shard.poll();
+                if (elem != null) {
+                    tops.set(k, shard.peek());
+                    return elem;
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    // Returns a minimal element without removing it, or null if the
+    // queue is empty. In RELAXED mode this is the smallest published
+    // root and may be stale by the time it is returned
+    public T peek() {
+        if (ordering == Ordering.RELAXED) {
+            T best = null;
+            for (int i = 0; i < shards.length; i++) {
+                T top = tops.get(i);
+                if (top != null && (best == null || top.compareTo(best) < 0)) best = top;
+            }
+            return best;
+        }
+
+        lockAll();
+        try {
+            int k = minShard();
+            return k < 0 ? null : shards[k].peek();
+        } finally {
+            unlockAll();
+        }
+    }
+
+    // Removes every element from the queue
+    public void clear() {
+        lockAll();
+        try {
+            for (int i = 0; i < shards.length; i++) {
+                shards[i].clear();
+                tops.set(i, null);
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    // Removes the exact global minimum while holding every lock
+    private T pollStrict() {
+        lockAll();
+        try {
+            int k = minShard();
+            if (k < 0) return null;
+
+            T elem = shards[k].poll();
+            tops.set(k, shards[k].peek());
+            return elem;
+        } finally {
+            unlockAll();
+        }
+    }
+
+    // Returns the heap holding the smallest root, or -1 if all are empty.
+    // Callers must hold every lock
+    private int minShard() {
+        int best = -1;
+        for (int i = 0; i < shards.length; i++) {
+            T top = shards[i].peek();
+            if (top != null && (best == -1 || top.compareTo(shards[best].peek()) < 0)) best = i;
+        }
+        return best;
+    }
+
+    // Returns whichever of two heaps has the smaller published root
+    private int better(int i, int j) {
+        T ti = tops.get(i);
+        T tj = tops.get(j);
+        if (ti == null) return j;
+        if (tj == null) return i;
+        return tj.compareTo(ti) < 0 ? j : i;
+    }
+
+    // Returns the first heap with a published root, or -1 if none
+    private int firstNonEmpty() {
+        for (int i = 0; i < shards.length; i++) {
+            if (tops.get(i) != null) return i;
+        }
+        return -1;
+    }
+
+    private int randomShard() {
+        return ThreadLocalRandom.current().nextInt(shards.length);
+    }
+
+    // Locks are always taken in index order to avoid deadlocks
+    private void lockAll() {
+        for (Shard<T> shard : shards) shard.lock.lock();
+    }
+
+    private void unlockAll() {
+        for (int i = shards.length - 1; i >= 0; i--) shards[i].lock.unlock();
+    }
+}
@@ -0,0 +1,212 @@
+package data_structures.priorityQueue;
+
+import java.util.Arrays;
+
+/**
+ * A minimum priority queue of primitive double keys using a binary heap.
+ * Keys may optionally carry an int payload (eg. a node id) which is
+ * kept in a parallel array and moved together with its key.
+ * NaN keys have no ordering and are rejected
+ */
+public class DoubleMinHeap {
+
+    // The number of elements currently inside the heap
+    private int heapSize = 0;
+
+    // The keys inside the heap
+    private double[] heap;
+
+    // Optional payload for each key, allocated on first use
+    private int[] payloads = null;
+
+    // Construct an initially empty heap
+    public DoubleMinHeap() { this(16); }
+
+    // Construct a heap with an initial capacity
+    public DoubleMinHeap(int capacity) {
+        heap = new double[Math.max(1, capacity)];
+    }
+
+    // Construct a heap using heapify in O(n) time
+    public DoubleMinHeap(double[] keys) {
+        this(keys, null);
+    }
+
+    // Construct a heap of keys with payloads using heapify in O(n) time
+    public DoubleMinHeap(double[] keys, int[] payloads) {
+        if (payloads != null && payloads.length != keys.length) throw new IllegalArgumentException();
+
+        for (double key : keys) {
+            if (Double.isNaN(key)) throw new IllegalArgumentException("NaN key");
+        }
+
+        heapSize = keys.length;
+        heap = Arrays.copyOf(keys, Math.max(1, heapSize));
+        if (payloads != null) this.payloads = Arrays.copyOf(payloads, heap.length);
+
+        // Heapify process, O(n)
+        for (int i = Math.max(0, (heapSize/2)-1); i>=0; i--) {
+            sink(i);
+        }
+    }
+
+    // Returns true/false depending on if the heap is empty
+    public boolean isEmpty() {
+        return heapSize == 0;
+    }
+
+    // Clears everything in the heap, O(1)
+    public void clear() {
+        heapSize = 0;
+    }
+
+    // Returns the size of the heap
+    public int size() {
+        return heapSize;
+    }
+
+    // Returns the smallest key in the heap, O(1)
+    public double peek() {
+        if (isEmpty()) throw new RuntimeException("Empty Heap");
+        return heap[0];
+    }
+
+    // Returns the payload of the smallest key in the heap, O(1)
+    public int peekPayload() {
+        if (isEmpty()) throw new RuntimeException("Empty Heap");
+        return payloads == null ? 0 : payloads[0];
+    }
+
+    // Removes and returns the smallest key, O(log(n))
+    public double poll() {
+        if (isEmpty()) throw new RuntimeException("Empty Heap");
+        return removeAt(0);
+    }
+
+    // Test if a key is in the heap, O(n)
+    public boolean contains(double key) {
+        return indexOf(key) != -1;
+    }
+
+    // Adds a key to the heap, O(log(n))
+    public void add(double key) {
+        if (Double.isNaN(key)) throw new IllegalArgumentException("NaN key");
+        if (heapSize == heap.length) grow();
+
+        heap[heapSize] = key;
+        if (payloads != null) payloads[heapSize] = 0;
+
+        swim(heapSize++);
+    }
+
+    // Adds a key carrying a payload to the heap, O(log(n))
+    public void add(double key, int payload) {
+        if (Double.isNaN(key)) throw new IllegalArgumentException("NaN key");
+        if (payloads == null) payloads = new int[heap.length];
+        if (heapSize == heap.length) grow();
+
+        heap[heapSize] = key;
+        payloads[heapSize] = payload;
+
+        swim(heapSize++);
+    }
+
+    // Removes one occurrence of a key from the heap, O(n)
+    public boolean remove(double key) {
+        int index = indexOf(key);
+        if (index != -1) removeAt(index);
+        return index != -1;
+    }
+
+    // Linear scan for the index of a key, O(n)
+    private int indexOf(double key) {
+        for (int i=0; i<heapSize; i++) {
+            if (heap[i] == key) return i;
+        }
+        return -1;
+    }
+
+    // Bottom up node swim, moving the hole rather than swapping, O(log(n))
+    private void swim(int k) {
+        double key = heap[k];
+        int payload = payloads == null ? 0 : payloads[k];
+
+        while (k > 0) {
+            int parentIndex = (k-1) / 2;
+            if (heap[parentIndex] <= key) break;
+
+            heap[k] = heap[parentIndex];
+            if (payloads != null) payloads[k] = payloads[parentIndex];
+            k = parentIndex;
+        }
+
+        heap[k] = key;
+        if (payloads != null) payloads[k] = payload;
+    }
+
+    // Top down node sink, moving the hole rather than swapping, O(log(n))
+    private void sink(int k) {
+        double key = heap[k];
+        int payload = payloads == null ? 0 : payloads[k];
+
+        while (true) {
+            int smallest = 2*k + 1;
+            if (smallest >= heapSize) break;
+
+            // Pick the smaller of the two children
+            int right = smallest + 1;
+            if (right < heapSize && heap[right] < heap[smallest]) smallest = right;
+            if (key <= heap[smallest]) break;
+
+            heap[k] = heap[smallest];
+            if (payloads != null) payloads[k] = payloads[smallest];
+            k = smallest;
+        }
+
+        heap[k] = key;
+        if (payloads != null) payloads[k] = payload;
+    }
+
+    // Removes a node at a particular index, O(log(n))
+    private double removeAt(int i) {
+        double removed = heap[i];
+
+        heapSize--;
+        if (i == heapSize) return removed;
+
+        // Move the last node into the hole then restore the heap
+        heap[i] = heap[heapSize];
+        if (payloads != null) payloads[i] = payloads[heapSize];
+
+        double key = heap[i];
+        sink(i);
+        if (heap[i] == key) swim(i);
+
+        return removed;
+    }
+
+    // Double the capacity of the backing arrays, amortized O(1)
+    private void grow() {
+        heap = Arrays.copyOf(heap, heap.length * 2);
+        if (payloads != null) payloads = Arrays.copyOf(payloads, heap.length);
+    }
+
+    // Recursively checks if this is a min heap, for testing purposes
+    // Called this method with k=0 to start at the root
+    public boolean isMinHeap(int k) {
+        if (k >= heapSize) return true;
+
+        int left  = 2 * k +1;
+        int right = 2 * k +2;
+
+        if (left < heapSize && heap[k] > heap[left]) return false;
+        if (right < heapSize && heap[k] > heap[right]) return false;
+
+        return isMinHeap(left) && isMinHeap(right);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(Arrays.copyOf(heap, heapSize));
+    }
+}
@@ -0,0 +1,297 @@
+package data_structures.priorityQueue;
+
+/**
+ * A minimum priority queue implementation using a Fibonacci heap. Insert,
+ * meld and decreaseKey are O(1) amortized and poll is O(log(n)) amortized.
+ * Inserting returns a node handle which can be used to decrease or delete
+ * that element later
+ * @param <T>
+ */
+public class FibonacciHeap <T extends Comparable<T>> implements Heap<T> {
+
+    // A node's degree is at most log_phi(n), which stays below this for any int size
+    private static final int MAX_DEGREE = 64;
+
+    // Handle to an element inside the heap
+    public static final class Node <T> {
+        private T value;
+
+        // Parent and any one child of this node
+        private Node <T> parent, child;
+
+        // Neighbours in the circular list of siblings (or roots),
+        // left is null once the node has been removed from the heap
+        private Node <T> left, right;
+
+        // The number of children
+        private int degree;
+
+        // Whether this node lost a child since it became a child itself
+        private boolean mark;
+
+        // The heap this node was inserted into
+        private HeapOwner owner;
+
+        private Node(T value) {
+            this.value = value;
+            left = right = this;
+        }
+
+        // The value currently stored at this node
+        public T value() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value.toString();
+        }
+    }
+
+    // The number of elements currently inside the heap
+    private int size = 0;
+
+    // The root holding the smallest value, null when the heap is empty
+    private Node <T> min = null;
+
+    // Stamped on every inserted node, replaced on clear
+    private HeapOwner owner = new HeapOwner();
+
+    // Scratch table of roots by degree, reused by every consolidation
+    @SuppressWarnings("unchecked")
+    private final Node <T>[] roots = (Node<T>[]) new Node<?>[MAX_DEGREE];
+
+    // Returns the size of the heap
+    public int size() {
+        return size;
+    }
+
+    // Returns true/false depending on if the heap is empty
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Clears everything in the heap, O(1)
+    public void clear() {
+        min = null;
+        size = 0;
+        owner = new HeapOwner();
+    }
+
+    // Returns the smallest element, or null if the heap is empty, O(1)
+    public T peek() {
+        return min == null ? null : min.value;
+    }
+
+    // Adds an element to the heap, O(1)
+    public void add(T elem) {
+        insert(elem);
+    }
+
+    // Adds an element to the heap and returns its handle, O(1)
+    public Node <T> insert(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+
+        Node <T> node = new Node<T>(elem);
+        node.owner = owner;
+        addRoot(node);
+        size++;
+        return node;
+    }
+
+    // Removes the smallest element, O(log(n)) amortized
+    public T poll() {
+        if (min == null) return null;
+
+        Node <T> z = min;
+
+        // Promote every child of the minimum to the root list
+        Node <T> child = z.child;
+        for (int i = 0; i < z.degree; i++) {
+            Node <T> next = child.right;
+            child.parent = null;
+            child.mark = false;
+            splice(z, child);
+            child = next;
+        }
+        z.child = null;
+        z.degree = 0;
+
+        // Remove the minimum from the root list
+        if (z.right == z) {
+            min = null;
+        } else {
+            min = z.right;
+            unlink(z);
+            consolidate();
+        }
+
+        z.left = z.right = null;
+        size--;
+        return z.value;
+    }
+
+    // Lowers the value of the element behind a handle, O(1) amortized
+    public void decreaseKey(Node <T> node, T value) {
+        checkInHeap(node);
+        if (value == null || value.compareTo(node.value) > 0) {
+            throw new IllegalArgumentException("New value is greater than current value");
+        }
+
+        node.value = value;
+        Node <T> parent = node.parent;
+        if (parent != null && value.compareTo(parent.value) < 0) {
+            cut(node, parent);
+            cascadingCut(parent);
+        }
+        if (value.compareTo(min.value) < 0) min = node;
+    }
+
+    // Removes the element behind a handle, O(log(n)) amortized
+    public T delete(Node <T> node) {
+        checkInHeap(node);
+
+        // Move the node to the root list and treat it as the minimum
+        Node <T> parent = node.parent;
+        if (parent != null) {
+            cut(node, parent);
+            cascadingCut(parent);
+        }
+        min = node;
+        return poll();
+    }
+
+    // Moves every element of another Fibonacci heap into this one,
+    // leaving the other heap empty, O(1)
+    public void meld(FibonacciHeap <T> other) {
+        if (other == this) throw new IllegalArgumentException("Cannot meld a heap with itself");
+        if (other.min == null) return;
+
+        if (min == null) {
+            min = other.min;
+        } else {
+            // Splice the two circular root lists together
+            Node <T> a = min.right;
+            Node <T> b = other.min.left;
+            min.right = other.min;
+            other.min.left = min;
+            a.left = b;
+            b.right = a;
+            if (other.min.value.compareTo(min.value) < 0) min = other.min;
+        }
+
+        size += other.size;
+        other.owner.forwardTo(owner);
+        other.clear();
+    }
+
+    // Links roots of equal degree until every root has a distinct degree
+    private void consolidate() {
+
+        // Break the circular root list so it can be walked while it is rebuilt
+        Node <T> x = min;
+        x.left.right = null;
+
+        while (x != null) {
+            Node <T> next = x.right;
+            x.left = x.right = x;
+
+            int d = x.degree;
+            while (roots[d] != null) {
+                Node <T> y = roots[d];
+                roots[d] = null;
+                if (y.value.compareTo(x.value) < 0) {
+                    Node <T> tmp = x;
+                    x = y;
+                    y = tmp;
+                }
+                link(y, x);
+                d++;
+            }
+            roots[d] = x;
+            x = next;
+        }
+
+        // Rebuild the root list from the table
+        min = null;
+        for (int i = 0; i < MAX_DEGREE; i++) {
+            if (roots[i] != null) {
+                addRoot(roots[i]);
+                roots[i] = null;
+            }
+        }
+    }
+
+    // Makes root y a child of root x, O(1)
+    private void link(Node <T> y, Node <T> x) {
+        y.parent = x;
+        y.mark = false;
+        if (x.child == null) {
+            y.left = y.right = y;
+            x.child = y;
+        } else {
+            splice(x.child, y);
+        }
+        x.degree++;
+    }
+
+    // Moves a node from its parent's child list to the root list, O(1)
+    private void cut(Node <T> node, Node <T> parent) {
+        if (node.right == node) parent.child = null;
+        else if (parent.child == node) parent.child = node.right;
+        unlink(node);
+        parent.degree--;
+
+        node.parent = null;
+        node.mark = false;
+        addRoot(node);
+    }
+
+    // Cuts marked ancestors until an unmarked one is found and marked
+    private void cascadingCut(Node <T> node) {
+        Node <T> parent = node.parent;
+        while (parent != null) {
+            if (!node.mark) {
+                node.mark = true;
+                return;
+            }
+            cut(node, parent);
+            node = parent;
+            parent = node.parent;
+        }
+    }
+
+    // Adds a detached node to the root list and updates the minimum, O(1)
+    private void addRoot(Node <T> node) {
+        if (min == null) {
+            node.left = node.right = node;
+            min = node;
+        } else {
+            splice(min, node);
+            if (node.value.compareTo(min.value) < 0) min = node;
+        }
+    }
+
+    // Inserts a node to the right of another node in a circular list, O(1)
+    private void splice(Node <T> at, Node <T> node) {
+        node.left = at;
+        node.right = at.right;
+        at.right.left = node;
+        at.right = node;
+    }
+
+    // Removes a node from its circular list, O(1)
+    private void unlink(Node <T> node) {
+        node.left.right = node.right;
+        node.right.left = node.left;
+        node.left = node.right = node;
+    }
+
+    // A removed node has no siblings. Handles from another heap
+    // or from before a clear have a different owner
+    private void checkInHeap(Node <T> node) {
+        if (node == null || node.left == null || node.owner.resolve() != owner) {
+            throw new IllegalArgumentException("Node is not in the heap");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package data_structures.priorityQueue;
+
+/**
+ * The operations shared by every minimum priority queue engine in this
+ * package so callers can pick a heap implementation per workload
+ * @param <T>
+ */
+public interface Heap <T extends Comparable<T>> {
+
+    // Returns the number of elements in the heap
+    int size();
+
+    // Returns true/false depending on if the heap is empty
+    boolean isEmpty();
+
+    // Removes every element from the heap
+    void clear();
+
+    // Returns the smallest element, or null if the heap is empty
+    T peek();
+
+    // Removes and returns the smallest element, or null if the heap is empty
+    T poll();
+
+    // Adds an element to the heap, the element must not be null
+    void add(T elem);
+}
@@ -0,0 +1,34 @@
+package data_structures.priorityQueue;
+
+/**
+ * Identifies which heap a node handle belongs to. Every node points at
+ * the owner of the heap it was inserted into. clear() gives the heap a
+ * fresh owner so older handles no longer match, and an O(1) meld
+ * forwards the melded heap's owner to the surviving one instead of
+ * visiting its nodes. Owners are resolved by following forwards with
+ * path compression, like a union find
+ */
+final class HeapOwner {
+
+    // The owner this one was melded into, null while still current
+    private HeapOwner forward;
+
+    // Follow forwards to the current owner, compressing the path
+    HeapOwner resolve() {
+        HeapOwner root = this;
+        while (root.forward != null) root = root.forward;
+
+        HeapOwner owner = this;
+        while (owner != root) {
+            HeapOwner next = owner.forward;
+            owner.forward = root;
+            owner = next;
+        }
+        return root;
+    }
+
+    // Hand every node of this owner over to another owner
+    void forwardTo(HeapOwner owner) {
+        forward = owner;
+    }
+}
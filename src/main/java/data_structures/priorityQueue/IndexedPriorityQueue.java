@@ -0,0 +1,221 @@
+package data_structures.priorityQueue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An indexed minimum priority queue using a binary heap. Every value is
+ * associated with a key index in the range [0, maxSize) which allows the
+ * value of a particular key to be looked up, updated or deleted in
+ * O(log(n)) without searching the heap (eg. Dijkstra's or Prim's algorithm)
+ */
+public class IndexedPriorityQueue {
+
+    // The number of elements currently inside the heap
+    private int sz = 0;
+
+    // The maximum number of elements in the heap
+    private final int N;
+
+    // The values associated with the keys, indexed by key index
+    private final double[] values;
+
+    // Position map: pm[ki] is the heap position of key index ki,
+    // or -1 if ki is not in the heap
+    private final int[] pm;
+
+    // Inverse map: im[i] is the key index stored at heap position i
+    private final int[] im;
+
+    // Construct an empty indexed priority queue for key indices [0, maxSize)
+    public IndexedPriorityQueue(int maxSize) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize <= 0 is not allowed");
+
+        N = maxSize;
+        values = new double[N];
+        pm = new int[N];
+        im = new int[N];
+        Arrays.fill(pm, -1);
+    }
+
+    // Returns the size of the heap
+    public int size() {
+        return sz;
+    }
+
+    // Returns true/false depending on if the priority queue is empty
+    public boolean isEmpty() {
+        return sz == 0;
+    }
+
+    // Test if a key index is in the heap, O(1)
+    public boolean contains(int ki) {
+        keyInBoundsOrThrow(ki);
+        return pm[ki] != -1;
+    }
+
+    // Returns the key index with the smallest value, O(1)
+    public int peekMinKeyIndex() {
+        isNotEmptyOrThrow();
+        return im[0];
+    }
+
+    // Removes the key index with the smallest value and returns it, O(log(n))
+    public int pollMinKeyIndex() {
+        int minki = peekMinKeyIndex();
+        delete(minki);
+        return minki;
+    }
+
+    // Returns the smallest value in the heap, O(1)
+    public double peekMinValue() {
+        isNotEmptyOrThrow();
+        return values[im[0]];
+    }
+
+    // Removes the smallest value in the heap and returns it, O(log(n))
+    public double pollMinValue() {
+        double minValue = peekMinValue();
+        delete(peekMinKeyIndex());
+        return minValue;
+    }
+
+    // Inserts a key index with a value, O(log(n))
+    public void insert(int ki, double value) {
+        if (contains(ki)) throw new IllegalArgumentException("Index already exists: " + ki);
+        valueNotNaNOrThrow(value);
+
+        pm[ki] = sz;
+        im[sz] = ki;
+        values[ki] = value;
+        swim(sz++);
+    }
+
+    // Returns the value associated with a key index, O(1)
+    public double valueOf(int ki) {
+        keyExistsOrThrow(ki);
+        return values[ki];
+    }
+
+    // Deletes a key index and returns its value, O(log(n))
+    public double delete(int ki) {
+        keyExistsOrThrow(ki);
+
+        int i = pm[ki];
+        swap(i, --sz);
+
+        // Restore the heap unless the deleted key was the last node
+        if (i != sz) {
+            sink(i);
+            swim(i);
+        }
+
+        double value = values[ki];
+        pm[ki] = -1;
+        return value;
+    }
+
+    // Updates the value of a key index and returns the old value, O(log(n))
+    public double update(int ki, double value) {
+        keyExistsOrThrow(ki);
+        valueNotNaNOrThrow(value);
+
+        int i = pm[ki];
+        double oldValue = values[ki];
+        values[ki] = value;
+        sink(i);
+        swim(i);
+        return oldValue;
+    }
+
+    // Lowers the value of a key index if the new value is smaller, O(log(n))
+    public void decreaseKey(int ki, double value) {
+        keyExistsOrThrow(ki);
+        valueNotNaNOrThrow(value);
+
+        if (value < values[ki]) {
+            values[ki] = value;
+            swim(pm[ki]);
+        }
+    }
+
+    // Raises the value of a key index if the new value is larger, O(log(n))
+    public void increaseKey(int ki, double value) {
+        keyExistsOrThrow(ki);
+        valueNotNaNOrThrow(value);
+
+        if (value > values[ki]) {
+            values[ki] = value;
+            sink(pm[ki]);
+        }
+    }
+
+    // Tests if the value at heap position i < heap position j, O(1)
+    private boolean less(int i, int j) {
+        return values[im[i]] < values[im[j]];
+    }
+
+    // Bottom up node swim, O(log(n))
+    private void swim(int k) {
+        int parentIndex = (k-1) / 2;
+        while (k > 0 && less(k, parentIndex)) {
+            swap(parentIndex, k);
+            k = parentIndex;
+            parentIndex = (k-1) / 2;
+        }
+    }
+
+    // Top down node sink, O(log(n))
+    private void sink(int k) {
+        while (true) {
+            int left = 2*k + 1;
+            int right = 2*k + 2;
+            int smallest = left;
+
+            if (right < sz && less(right, left)) smallest = right;
+            if (left >= sz || !less(smallest, k)) break;
+
+            swap(smallest, k);
+            k = smallest;
+        }
+    }
+
+    // Swap two heap positions and fix up the position maps, O(1)
+    private void swap(int i, int j) {
+        pm[im[j]] = i;
+        pm[im[i]] = j;
+        int tmp = im[i];
+        im[i] = im[j];
+        im[j] = tmp;
+    }
+
+    // Recursively checks if this is a min heap, for testing purposes
+    // Called this method with k=0 to start at the root
+    public boolean isMinHeap(int k) {
+        if (k >= sz) return true;
+
+        int left  = 2 * k +1;
+        int right = 2 * k +2;
+
+        if (left < sz && less(left, k)) return false;
+        if (right < sz && less(right, k)) return false;
+
+        return isMinHeap(left) && isMinHeap(right);
+    }
+
+    private void isNotEmptyOrThrow() {
+        if (isEmpty()) throw new NoSuchElementException("Priority queue underflow");
+    }
+
+    private void keyExistsOrThrow(int ki) {
+        if (!contains(ki)) throw new NoSuchElementException("Index does not exist: " + ki);
+    }
+
+    private void keyInBoundsOrThrow(int ki) {
+        if (ki < 0 || ki >= N) throw new IllegalArgumentException("Key index out of bounds: " + ki);
+    }
+
+    private void valueNotNaNOrThrow(double value) {
+        if (Double.isNaN(value)) throw new IllegalArgumentException("NaN value");
+    }
+}
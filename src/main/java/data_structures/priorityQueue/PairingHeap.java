@@ -0,0 +1,205 @@
+package data_structures.priorityQueue;
+
+/**
+ * A minimum priority queue implementation using a pairing heap. Inserts
+ * and melds are O(1), poll is O(log(n)) amortized and decreaseKey is
+ * o(log(n)) amortized, which suits workloads with many more inserts and
+ * decrease-keys than polls. Inserting returns a node handle which can be
+ * used to decrease or delete that element later
+ * @param <T>
+ */
+public class PairingHeap <T extends Comparable<T>> implements Heap<T> {
+
+    // Handle to an element inside the heap
+    public static final class Node <T> {
+        private T value;
+
+        // Leftmost child, next sibling, and either the previous
+        // sibling or the parent if this is the leftmost child
+        private Node <T> child, next, prev;
+
+        // The heap this node was inserted into
+        private HeapOwner owner;
+
+        private Node(T value) {
+            this.value = value;
+        }
+
+        // The value currently stored at this node
+        public T value() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value.toString();
+        }
+    }
+
+    // The number of elements currently inside the heap
+    private int size = 0;
+
+    // The root of the heap tree, null when the heap is empty
+    private Node <T> root = null;
+
+    // Stamped on every inserted node, replaced on clear
+    private HeapOwner owner = new HeapOwner();
+
+    // Returns the size of the heap
+    public int size() {
+        return size;
+    }
+
+    // Returns true/false depending on if the heap is empty
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Clears everything in the heap, O(1)
+    public void clear() {
+        root = null;
+        size = 0;
+        owner = new HeapOwner();
+    }
+
+    // Returns the smallest element, or null if the heap is empty, O(1)
+    public T peek() {
+        return root == null ? null : root.value;
+    }
+
+    // Adds an element to the heap, O(1)
+    public void add(T elem) {
+        insert(elem);
+    }
+
+    // Adds an element to the heap and returns its handle, O(1)
+    public Node <T> insert(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+
+        Node <T> node = new Node<T>(elem);
+        node.owner = owner;
+        root = link(root, node);
+        size++;
+        return node;
+    }
+
+    // Removes the smallest element, O(log(n)) amortized
+    public T poll() {
+        if (root == null) return null;
+
+        Node <T> removed = root;
+        root = mergePairs(removed.child);
+        size--;
+
+        removed.child = null;
+        return removed.value;
+    }
+
+    // Lowers the value of the element behind a handle, O(log(n)) amortized
+    public void decreaseKey(Node <T> node, T value) {
+        checkInHeap(node);
+        if (value == null || value.compareTo(node.value) > 0) {
+            throw new IllegalArgumentException("New value is greater than current value");
+        }
+
+        node.value = value;
+        if (node == root) return;
+
+        detach(node);
+        root = link(root, node);
+    }
+
+    // Removes the element behind a handle, O(log(n)) amortized
+    public T delete(Node <T> node) {
+        checkInHeap(node);
+        if (node == root) return poll();
+
+        detach(node);
+        Node <T> subtree = mergePairs(node.child);
+        node.child = null;
+        root = link(root, subtree);
+        size--;
+        return node.value;
+    }
+
+    // Moves every element of another pairing heap into this one,
+    // leaving the other heap empty, O(1)
+    public void meld(PairingHeap <T> other) {
+        if (other == this) throw new IllegalArgumentException("Cannot meld a heap with itself");
+
+        root = link(root, other.root);
+        size += other.size;
+        other.owner.forwardTo(owner);
+        other.clear();
+    }
+
+    // Links two detached trees, the larger root becomes
+    // the leftmost child of the smaller one, O(1)
+    private Node <T> link(Node <T> a, Node <T> b) {
+        if (a == null) return b;
+        if (b == null) return a;
+
+        if (b.value.compareTo(a.value) < 0) {
+            Node <T> tmp = a;
+            a = b;
+            b = tmp;
+        }
+
+        b.prev = a;
+        b.next = a.child;
+        if (a.child != null) a.child.prev = b;
+        a.child = b;
+        return a;
+    }
+
+    // Two pass pairing of a list of siblings into a single tree. The
+    // first pass links siblings pairwise left to right, the second pass
+    // links the resulting trees right to left, O(log(n)) amortized
+    private Node <T> mergePairs(Node <T> first) {
+        if (first == null) return null;
+
+        // First pass, the linked pairs are pushed onto a stack threaded
+        // through their next pointers so the second pass can run in reverse
+        Node <T> pairs = null;
+        while (first != null) {
+            Node <T> a = first;
+            Node <T> b = a.next;
+            first = b == null ? null : b.next;
+
+            a.next = a.prev = null;
+            if (b != null) b.next = b.prev = null;
+
+            Node <T> linked = link(a, b);
+            linked.next = pairs;
+            pairs = linked;
+        }
+
+        // Second pass
+        Node <T> result = null;
+        while (pairs != null) {
+            Node <T> next = pairs.next;
+            pairs.next = null;
+            result = link(result, pairs);
+            pairs = next;
+        }
+        return result;
+    }
+
+    // Cuts a non root node out of its sibling list, O(1)
+    private void detach(Node <T> node) {
+        if (node.prev.child == node) node.prev.child = node.next;
+        else node.prev.next = node.next;
+
+        if (node.next != null) node.next.prev = node.prev;
+        node.next = node.prev = null;
+    }
+
+    // Every node except the root has a parent or previous sibling, so a
+    // handle without one was already removed. Handles from another heap
+    // or from before a clear have a different owner
+    private void checkInHeap(Node <T> node) {
+        if (node == null || node.owner.resolve() != owner || (node != root && node.prev == null)) {
+            throw new IllegalArgumentException("Node is not in the heap");
+        }
+    }
+}
@@ -1,12 +1,32 @@
 package data_structures.priorityQueue;
 
+import data_structures.metrics.Counter;
+import data_structures.metrics.HighWaterMark;
+import data_structures.metrics.Histogram;
+import data_structures.metrics.Metrics;
+
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * A minimum priority queue implementation using a binary heap
+ * A minimum priority queue implementation using a d-ary heap. The arity
+ * defaults to 2 (a binary heap); larger arities give a shallower tree
+ * whose children sit next to each other in memory, trading a few more
+ * comparisons per sink for fewer levels and cache misses on huge heaps
  * @param <T>
  */
-public class PriorityQueue <T extends Comparable<T>>{
+public class PriorityQueue <T extends Comparable<T>> implements Heap<T> {
+
+    // Marks the end of a chain of handles sharing the same value
+    private static final int NONE = -1;
+
+    // The default number of children per node
+    private static final int DEFAULT_ARITY = 2;
+
+    // The number of children per node, children of k are
+    // found at arity*k+1 ... arity*k+arity
+    private final int arity;
 
     // The number of elements currently inside the heap
     private int heapSize = 0;
@@ -14,44 +34,73 @@ public class PriorityQueue <T extends Comparable<T>>{
     // The internal capacity of the heap
     private int heapCapacitiy = 0;
 
-    // A dynamic list to track the elements inside the heap
-    private List<T> heap = null;
+    // A flat array to track the elements inside the heap
+    private T[] heap = null;
+
+    // Every element in the heap is given a handle when it is added.
+    // handles[i] is the handle of the element at heap index i and
+    // positions[h] is the heap index of the element with handle h.
+    // Swapping two nodes only rewrites these int arrays, so moving
+    // elements around the heap does not allocate anything
+    private int[] handles = null;
+    private int[] positions = null;
 
-    // This map keep tracks of the possible indices a particular
-    // node value is found in the heap. Having this mapping lets
-    // us have Olog(n)) removals and O(1) element containment check
-    // at the cost of some additional space and minor overhead
-    private Map<T, TreeSet<Integer>> map = new HashMap<T, TreeSet<Integer>>();
+    // Handles of elements with equal values are chained together in an
+    // intrusive doubly linked list so duplicates can still be found and
+    // removed. nextSame/prevSame are indexed by handle
+    private int[] nextSame = null;
+    private int[] prevSame = null;
+
+    // Stack of handles released by removals, reused by the next add
+    private int[] freeHandles = null;
+    private int freeCount = 0;
+
+    // The next never-used handle
+    private int nextHandle = 0;
+
+    // This map keeps track of the head handle of the chain for a
+    // particular node value. Having this mapping lets us have O(log(n))
+    // removals and O(1) element containment check. The map is only
+    // touched when a value enters or leaves the heap, never on a swap
+    private Map<T, Integer> map = new HashMap<T, Integer>();
+
+    // Instrumentation, null unless enabled with instrument()
+    private Probe probe = null;
 
     // Construct and initially empty priority queue
     public PriorityQueue() { this(1);};
 
     // Construct a priority queue with an initial capacity
     public PriorityQueue(int size) {
-        heap = new ArrayList<T>(size);
+        this(size, DEFAULT_ARITY);
+    }
+
+    // Construct a priority queue with an initial capacity and arity
+    public PriorityQueue(int size, int arity) {
+        this.arity = checkArity(arity);
+        allocate(Math.max(1, size));
     }
 
     // Construct a priority queue using heapify in O(n) time
     public PriorityQueue(T[] elems) {
-        heapSize = heapCapacitiy = elems.length;
-        heap = new ArrayList<T>(heapCapacitiy);
-
-        // Place all elements in heap
-        for (int i=0; i< heapSize; i++) {
-            mapAdd(elems[i], i);
-            heap.add(elems[i]);
-        }
+        this(elems, DEFAULT_ARITY);
+    }
 
-        // Heapify process, O(n)
-        for (int i = Math.max(0, (heapSize/2)-1); i>=0; i--) {
-            sink(i);
-        }
+    // Construct a priority queue with a given arity using heapify in O(n) time
+    public PriorityQueue(T[] elems, int arity) {
+        this.arity = checkArity(arity);
+        allocate(Math.max(1, elems.length));
+        checkElements(Arrays.asList(elems));
+        append(Arrays.asList(elems));
+        heapify();
     }
 
-    // Priority Queue construction, O(log(n))
+    // Priority Queue construction using heapify in O(n) time
     public PriorityQueue(Collection <T> elems) {
         this(elems.size());
-        for (T elem: elems) add(elem);
+        checkElements(elems);
+        append(elems);
+        heapify();
     }
 
     // Returns true/false depending on if the priority queue is empty
@@ -61,10 +110,12 @@ public class PriorityQueue <T extends Comparable<T>>{
 
     // Clears everything in the heap O(n)
     public void clear() {
-        for (int i = 0; i< heapCapacitiy; i++) {
-            heap.set(i, null);
+        for (int i = 0; i< heapSize; i++) {
+            heap[i] = null;
         }
         heapSize = 0;
+        freeCount = 0;
+        nextHandle = 0;
         map.clear();
     }
 
@@ -79,12 +130,18 @@ public class PriorityQueue <T extends Comparable<T>>{
     public T peek() {
         if (isEmpty()) return null;
 
-        return heap.get(0);
+        return heap[0];
     }
 
     // Removes the root of the heap, O(log(n))
     public T poll() {
-        return removeAt(0);
+        if (probe == null) return removeAt(0);
+
+        long start = System.nanoTime();
+        T elem = removeAt(0);
+        probe.pollNanos.record(System.nanoTime() - start);
+        probe.polls.increment();
+        return elem;
     }
 
     // Test if an element is in heap, O(1)
@@ -93,46 +150,142 @@ public class PriorityQueue <T extends Comparable<T>>{
         // Map lookup to check containment, O(1)
         if(elem == null) return false;
         return map.containsKey(elem);
-
-        // Linear scan to check containment, O(n)
-        //        for (int i=0; i<heapSize; i++) {
-        //            if (heap.get(i).equals(elem)) return true;
-        //        }
-        //        return false;
     }
 
     // Adds element to the priority queue, the
     // element must not be null, O(log(n))
     public void add(T elem) {
+        if (probe == null) {
+            insert(elem);
+            return;
+        }
+
+        long start = System.nanoTime();
+        probe.addSwaps.record(insert(elem));
+        probe.addNanos.record(System.nanoTime() - start);
+        probe.adds.increment();
+        probe.size.update(heapSize);
+    }
+
+    // Sift a new element up into place, returns the number of swaps made
+    private int insert(T elem) {
 
         if (elem == null) throw new IllegalArgumentException();
 
-        if (heapSize < heapCapacitiy) {
-            heap.set(heapSize, elem);
+        if (heapSize == heapCapacitiy) grow();
+
+        int handle = freeCount > 0 ? freeHandles[--freeCount] : nextHandle++;
+
+        heap[heapSize] = elem;
+        handles[heapSize] = handle;
+        positions[handle] = heapSize;
+
+        mapAdd(elem, handle);
+
+        int swaps = swim(heapSize);
+        heapSize++;
+        return swaps;
+    }
+
+    // Adds all elements to the priority queue, the elements must not
+    // be null. Large batches are appended and the whole heap is rebuilt
+    // bottom up in O(n+k), small batches are sifted in one by one in
+    // O(k*log(n+k)), whichever is cheaper. Either way a null element
+    // is rejected before anything is added
+    public void addAll(Collection <? extends T> elems) {
+        int k = elems.size();
+        if (k == 0) return;
+
+        checkElements(elems);
+
+        if ((long) k * log2(heapSize + k) < heapSize + k) {
+            for (T elem : elems) add(elem);
         } else {
-            heap.add(elem);
-            heapCapacitiy++;
+            append(elems);
+            heapify();
+            if (probe != null) {
+                probe.adds.add(k);
+                probe.size.update(heapSize);
+            }
         }
+    }
 
-        mapAdd(elem, heapSize);
+    // Moves every element of another priority queue into this one,
+    // leaving the other queue empty, O(n+m) for similarly sized queues
+    public void meld(PriorityQueue <T> other) {
+        if (other == this) throw new IllegalArgumentException("Cannot meld a queue with itself");
 
-        swim(heapSize);
-        heapSize++;
+        addAll(Arrays.asList(other.heap).subList(0, other.heapSize));
+        other.clear();
+    }
+
+    // Removes up to k elements in priority order and adds them to
+    // the sink, returns the number of elements moved, O(k*log(n))
+    public int pollN(int k, Collection <? super T> sink) {
+        if (k < 0) throw new IllegalArgumentException("k < 0 is not allowed");
+
+        int moved = 0;
+        while (moved < k && !isEmpty()) {
+            sink.add(poll());
+            moved++;
+        }
+        return moved;
+    }
+
+    // Removes every element in priority order and adds them to
+    // the sink, returns the number of elements moved, O(n*log(n))
+    public int drainTo(Collection <? super T> sink) {
+        return pollN(heapSize, sink);
+    }
+
+    // Places elements at the end of the heap without restoring the heap
+    // invariant, callers must check the elements and heapify afterwards, O(k)
+    private void append(Collection <? extends T> elems) {
+        while (heapSize + elems.size() > heapCapacitiy) grow();
+
+        for (T elem : elems) {
+            int handle = freeCount > 0 ? freeHandles[--freeCount] : nextHandle++;
+
+            heap[heapSize] = elem;
+            handles[heapSize] = handle;
+            positions[handle] = heapSize;
+            mapAdd(elem, handle);
+            heapSize++;
+        }
+    }
+
+    // Reject a batch holding a null element before any of it is added, O(k)
+    private static void checkElements(Collection <?> elems) {
+        for (Object elem : elems) {
+            if (elem == null) throw new IllegalArgumentException();
+        }
+    }
+
+    // Heapify process, restores the heap invariant bottom up, O(n)
+    private void heapify() {
+        for (int i = Math.max(0, (heapSize-2)/arity); i>=0; i--) {
+            sink(i);
+        }
+    }
+
+    // Floor of the base 2 logarithm, at least 1
+    private static int log2(int n) {
+        return Math.max(1, 31 - Integer.numberOfLeadingZeros(n));
     }
 
     // Tests if the value of node i<= node j
     // This method assumes i & j are valid indices, O(1)
     private boolean less(int i, int j) {
-        T node1 = heap.get(i);
-        T node2 = heap.get(j);
-        return node1.compareTo(node2) <= 0;
+        return heap[i].compareTo(heap[j]) <= 0;
     }
 
-    // Bottom up node swim O(log(n))
-    private void swim(int k) {
+    // Bottom up node swim, returns the number of swaps made, O(log(n))
+    private int swim(int k) {
+
+        int swaps = 0;
 
         // Grab the index of the next parent node WRT to k
-        int parentIndex = (k-1) /2;
+        int parentIndex = (k-1) / arity;
 
         // Keep swimming while we have not reached the
         // root and while we're less than our parent.
@@ -140,65 +293,65 @@ public class PriorityQueue <T extends Comparable<T>>{
 
             // Exchange k with the parent
             swap(parentIndex, k);
+            swaps++;
             k = parentIndex;
 
             // Gran the index of the next parent node WRT to k
-            parentIndex = (k-1) /2 ;
+            parentIndex = (k-1) / arity;
         }
+        return swaps;
     }
 
-    // Top down node sink, O(log(n))
-    private void sink(int k) {
+    // Top down node sink, returns the number of swaps made, O(log(n))
+    private int sink(int k) {
 
+        int swaps = 0;
         while (true) {
-            int left = 2*k + 1; // left node
-            int right = 2*k + 2; // right node
-            int smallest = left; // Assume left is the smaller node of the two children
-
-            // Find which is smaller left or right
-            // If right is smaller set smallest to be right
-            if (right<heapSize && less(right, left)) {
-                smallest = right;
+            int first = arity*k + 1; // first child node
+            int last = Math.min(first + arity, heapSize); // one past the last child node
+            int smallest = first; // Assume the first child is the smallest
+
+            // Scan the contiguous block of children for the smallest one
+            for (int child = first + 1; child < last; child++) {
+                if (less(child, smallest)) smallest = child;
             }
 
             // Stop if we're outside the bounds of the tree
             // or stop early if we cannot sink k anymore
-            if (left >= heapSize || less (k, smallest)) break;;
+            if (first >= heapSize || less (k, smallest)) break;
 
             // Mode down the tree following the smallest node
             swap(smallest, k);
+            swaps++;
             k = smallest;
         }
+        return swaps;
     }
 
     // Swap two nodes. Assume i & j are valid, O(1)
     private void swap(int i, int j) {
 
-        T i_elem = heap.get(i);
-        T j_elem = heap.get(j);
-
-        heap.set(i, j_elem);
-        heap.set(j, i_elem);
+        T i_elem = heap[i];
+        heap[i] = heap[j];
+        heap[j] = i_elem;
 
-        mapSwap(i_elem, j_elem, i, j);
+        int i_handle = handles[i];
+        int j_handle = handles[j];
+        handles[i] = j_handle;
+        handles[j] = i_handle;
+        positions[j_handle] = i;
+        positions[i_handle] = j;
     }
 
     // Removes a particular element in the heap, O(log(n))
     public boolean remove(T element) {
         if (element == null) return false;
 
-        // Linear removal via search, O(n)
-        //        for (int i=0; i<heapSize; i++) {
-        //            if (element.equals(heap.get(i))) {
-        //                removeAt(i);
-        //                return true;
-        //            }
-        //        }
-
         // Logarithmic removal with map, O(log(n))
-        Integer index = mapGet(element);
-        if (index != null) removeAt(index);
-        return index != null;
+        Integer handle = map.get(element);
+        if (handle != null) removeAt(positions[handle]);
+        if (handle != null && probe != null) probe.removes.increment();
+        return handle != null;
     }
 
     // Removes a node at a particular index, O(log(n))
@@ -206,26 +359,32 @@ public class PriorityQueue <T extends Comparable<T>>{
         if (isEmpty()) return null;
 
         heapSize--;
-        T removed_data = heap.get(i);
+        T removed_data = heap[i];
+        int removed_handle = handles[i];
         swap(i, heapSize);
 
-        // Obliterate the value
-        heap.set(heapSize, null);
-        mapRemove(removed_data, heapSize);
+        // Obliterate the value and release its handle
+        heap[heapSize] = null;
+        mapRemove(removed_data, removed_handle);
+        freeHandles[freeCount++] = removed_handle;
 
         // Remove the last element
-        if (i==heapSize) return removed_data;
+        if (i==heapSize) {
+            if (probe != null) probe.removeSwaps.record(0);
+            return removed_data;
+        }
 
-        T elem = heap.get(i);
+        T elem = heap[i];
 
         // Try sinking element
-        sink(i);
+        int swaps = sink(i);
 
         // If sinking did not work try swimming
-        if (heap.get(i).equals(elem)) {
-            swim(i);
+        if (heap[i] == elem) {
+            swaps += swim(i);
         }
 
+        if (probe != null) probe.removeSwaps.record(swaps);
         return removed_data;
     }
 
@@ -238,67 +397,128 @@ public class PriorityQueue <T extends Comparable<T>>{
         // If we are outside the bounds of the heap return true
         if (k >= heapSize) return true;
 
-        int left  = 2 * k +1;
-        int right = 2 * k +2;
+        int first = arity * k + 1;
+        int last = Math.min(first + arity, heapSize);
 
         // Make sure that the current node k is less than
-        // both of its children left and right if they exist
-        // return false otherwise to indicate invalid heap
-        if (left < heapSize && !less(k, left)) return false;
-        if (left < heapSize && !less(k, right)) return false;
+        // all of its children if they exist and that they
+        // are also valid heaps, return false otherwise
+        for (int child = first; child < last; child++) {
+            if (!less(k, child) || !isMinHeap(child)) return false;
+        }
+        return true;
+
+    }
+
+    // Record operation counts, swaps per add and per removal (poll or
+    // remove), add and poll latencies in nanoseconds and the peak size
+    // into a metrics registry, under names starting with 'name'. A null
+    // registry turns recording off again, after which every operation
+    // only pays a null check
+    public void instrument(Metrics metrics, String name) {
+        probe = metrics == null ? null : new Probe(metrics, name);
+    }
+
+    // The metrics an instrumented priority queue records into
+    private static final class Probe {
+        final Counter adds, polls, removes;
+        final Histogram addSwaps, removeSwaps, addNanos, pollNanos;
+        final HighWaterMark size;
+
+        Probe(Metrics metrics, String name) {
+            adds = metrics.counter(name + ".adds");
+            polls = metrics.counter(name + ".polls");
+            removes = metrics.counter(name + ".removes");
+            addSwaps = metrics.histogram(name + ".add.swaps");
+            removeSwaps = metrics.histogram(name + ".remove.swaps");
+            addNanos = metrics.histogram(name + ".add.nanos");
+            pollNanos = metrics.histogram(name + ".poll.nanos");
+            size = metrics.highWaterMark(name + ".size");
+        }
+    }
 
-        // Recurse on both children to make sure they're also valid heaps
-        return isMinHeap(left) && isMinHeap(right);
+    // Validate the number of children per node
+    private static int checkArity(int arity) {
+        if (arity < 2) throw new IllegalArgumentException("Arity < 2 is not allowed");
+        return arity;
+    }
 
+    // Allocate the backing arrays for a given capacity
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        heapCapacitiy = capacity;
+        heap = (T[]) new Comparable<?>[capacity];
+        handles = new int[capacity];
+        positions = new int[capacity];
+        nextSame = new int[capacity];
+        prevSame = new int[capacity];
+        freeHandles = new int[capacity];
     }
 
-    // Add a node value and its index to the map
-    private void mapAdd(T value, int index) {
+    // Double the capacity of the backing arrays, amortized O(1)
+    private void grow() {
+        int capacity = heapCapacitiy * 2;
+        heap = Arrays.copyOf(heap, capacity);
+        handles = Arrays.copyOf(handles, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        nextSame = Arrays.copyOf(nextSame, capacity);
+        prevSame = Arrays.copyOf(prevSame, capacity);
+        freeHandles = Arrays.copyOf(freeHandles, capacity);
+        heapCapacitiy = capacity;
+    }
 
-        TreeSet<Integer> set = map.get(value);
+    // Link a handle into the chain of its node value, O(1)
+    private void mapAdd(T value, int handle) {
+
+        Integer head = map.get(value);
 
         // New value being inserted in map
-        if (set == null) {
-            set = new TreeSet<Integer>();
-            set.add(index);
-            map.put(value, set);
+        if (head == null) {
+            prevSame[handle] = nextSame[handle] = NONE;
+            map.put(value, handle);
         } else {
-            // value already exists in map
-            set.add(index);
+            // value already exists in map, link in right after the head
+            int next = nextSame[head];
+            prevSame[handle] = head;
+            nextSame[handle] = next;
+            nextSame[head] = handle;
+            if (next != NONE) prevSame[next] = handle;
         }
     }
 
-    // Removes the index at a given value, O(log(n))
-    private void mapRemove(T value, int index) {
-        TreeSet <Integer> set =  map.get(value);
-        set.remove(index); // TreeSet takes O(log(n)) removal time
-        if (set.size() == 0) map.remove(value);
-    }
+    // Unlink a handle from the chain of its node value, O(1)
+    private void mapRemove(T value, int handle) {
+        int prev = prevSame[handle];
+        int next = nextSame[handle];
 
-    // Extract an index position for the given value
-    // NOTE: If a value exists multiple times in the heap the highest
-    // index is returned (this has arbitraririly been chosen)
-    private Integer mapGet(T value) {
-        TreeSet <Integer> set = map.get(value);
-        if (set!=null) return set.last();
-        return null;
-    }
+        if (next != NONE) prevSame[next] = prev;
 
-    // Exchange the index of two nodes internally within the map
-    private void mapSwap(T val1, T val2, int val1Index, int val2Index) {
+        // Removing the head of the chain either promotes the
+        // next handle or drops the value from the map entirely
+        if (prev != NONE) nextSame[prev] = next;
+        else if (next != NONE) map.put(value, next);
+        else map.remove(value);
+    }
 
-        Set <Integer> set1 = map.get(val1);
-        Set <Integer> set2 = map.get(val2);
+    // A sized spliterator over the heap array in heap order, not sorted
+    // order, which splits by array range. The queue must not be modified
+    // while the spliterator is in use
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(heap, 0, heapSize, Spliterator.NONNULL);
+    }
 
-        set1.remove(val1Index);
-        set2.remove(val2Index);
+    // Returns a sequential stream of the elements in heap order
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
 
-        set1.add(val2Index);
-        set2.add(val1Index);
+    // Returns a parallel stream of the elements in heap order
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
     }
 
     @Override
     public String toString() {
-        return heap.toString();
+        return Arrays.asList(heap).subList(0, heapSize).toString();
     }
 }
@@ -0,0 +1,202 @@
+package data_structures.queue;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A queue backed by a circular array (ring buffer). The capacity is
+ * always a power of two so positions wrap with a bit mask instead of a
+ * modulo. The array doubles when full and can optionally halve when it
+ * becomes mostly empty; in steady state enqueueing and dequeueing do not
+ * allocate anything
+ * @param <T>
+ */
+public class ArrayQueue<T> implements Iterable<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // The ring buffer, its length is always a power of two
+    private Object[] elements;
+
+    // elements.length - 1, used to wrap positions
+    private int mask;
+
+    // Position of the first element of the queue
+    private int head = 0;
+
+    // The number of elements in the queue
+    private int size = 0;
+
+    // Whether the buffer halves once it is a quarter full
+    private final boolean shrink;
+
+    // The capacity the buffer never shrinks below
+    private final int minCapacity;
+
+    // Bumped on every structural change so iterators can fail fast
+    private int modCount = 0;
+
+    // Create an empty queue
+    public ArrayQueue() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    // Create a queue with a single element
+    public ArrayQueue(T elem) {
+        this();
+        Enqueue(elem);
+    }
+
+    // Create an empty queue with an initial capacity, rounded up to a
+    // power of two, which optionally shrinks back down to that capacity
+    public ArrayQueue(int capacity, boolean shrink) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity <= 0 is not allowed");
+        if (capacity > MAX_CAPACITY) throw new IllegalArgumentException("Capacity too large");
+
+        int length = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        elements = new Object[length];
+        mask = length - 1;
+        minCapacity = length;
+        this.shrink = shrink;
+    }
+
+    // Check if queue is empty
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Get the size of the queue
+    public int size() {
+        return size;
+    }
+
+    // Enqueue an element to the queue, amortized O(1)
+    public void Enqueue(T elem) {
+        if (size == elements.length) grow();
+
+        elements[(head + size) & mask] = elem;
+        size++;
+        modCount++;
+    }
+
+    // Dequeue an element, amortized O(1)
+    public T Dequeue() {
+        if (isEmpty()) throw new RuntimeException("Empty Queue");
+
+        T elem = elementAt(0);
+        elements[head] = null;
+        head = (head + 1) & mask;
+        size--;
+        modCount++;
+
+        if (shrink) shrinkIfSparse();
+        return elem;
+    }
+
+    // Peek the first element
+    public T Peek() {
+        if (isEmpty()) throw new RuntimeException("Empty Queue");
+        return elementAt(0);
+    }
+
+    // Check if element exists, O(n)
+    public boolean Contains(T elem) {
+        if (isEmpty()) throw new RuntimeException("Empty Queue");
+        return indexOf(elem) != -1;
+    }
+
+    // Remove the first occurrence of a certain element from the queue, O(n)
+    public boolean RemoveElem(T elem) {
+        if (isEmpty()) throw new RuntimeException("Empty Queue");
+
+        int index = indexOf(elem);
+        if (index == -1) return false;
+        removeAt(index);
+        return true;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index = 0;
+            private int lastReturned = -1;
+            private int expectedModCount = modCount;
+
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            public T next() {
+                if (expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (index >= size) throw new NoSuchElementException();
+                lastReturned = index;
+                return elementAt(index++);
+            }
+
+            public void remove() {
+                if (lastReturned == -1) throw new IllegalStateException();
+                if (expectedModCount != modCount) throw new ConcurrentModificationException();
+                removeAt(lastReturned);
+                index = lastReturned;
+                lastReturned = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    // The element at a logical index counted from the head
+    @SuppressWarnings("unchecked")
+    private T elementAt(int index) {
+        return (T) elements[(head + index) & mask];
+    }
+
+    // Linear search for the logical index of an element, O(n)
+    private int indexOf(Object elem) {
+        for (int i = 0; i < size; i++) {
+            Object e = elements[(head + i) & mask];
+            if (elem == null ? e == null : elem.equals(e)) return i;
+        }
+        return -1;
+    }
+
+    // Remove the element at a logical index by shifting the
+    // elements behind it one position forward, O(n)
+    private void removeAt(int index) {
+        for (int i = index; i < size - 1; i++) {
+            elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+        }
+        elements[(head + size - 1) & mask] = null;
+        size--;
+        modCount++;
+
+        if (shrink) shrinkIfSparse();
+    }
+
+    // Halve the buffer once it is a quarter full
+    private void shrinkIfSparse() {
+        if (elements.length > minCapacity && size <= elements.length >> 2) {
+            resize(elements.length >> 1);
+        }
+    }
+
+    // Double the buffer. Doubling the largest power of two array would
+    // overflow to a negative length, so a full buffer of that size fails
+    private void grow() {
+        if (elements.length == MAX_CAPACITY) throw new IllegalStateException("Queue is full");
+        resize(elements.length << 1);
+    }
+
+    // Copy the elements in order into a new buffer of a given length, O(n)
+    private void resize(int length) {
+        // The queue may wrap around the end of the buffer, copy both parts
+        Object[] resized = new Object[length];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, resized, 0, firstPart);
+        System.arraycopy(elements, 0, resized, firstPart, size - firstPart);
+        elements = resized;
+        mask = length - 1;
+        head = 0;
+    }
+}
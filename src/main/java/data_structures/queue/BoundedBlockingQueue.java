@@ -0,0 +1,236 @@
+package data_structures.queue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread safe bounded queue whose consumers wait for elements instead
+ * of polling isEmpty and catching "Empty Queue" exceptions. Waiting is
+ * done with a ReentrantLock and its conditions, which park the thread
+ * rather than holding a monitor, so virtual threads unmount from their
+ * carrier while they wait.
+ *
+ * What put does when the queue is full is decided by the backpressure
+ * policy. The time spent waiting and the number of dropped elements
+ * are counted so producers that outrun their consumers can be spotted
+ * @param <T>
+ */
+public class BoundedBlockingQueue<T> {
+
+    // What put does when the queue is full
+    public enum BackpressurePolicy {
+        // Wait until there is room
+        BLOCK,
+        // Discard the element being put
+        DROP_NEWEST,
+        // Discard the element at the head of the queue to make room
+        DROP_OLDEST,
+        // Throw an IllegalStateException
+        FAIL
+    }
+
+    private final ArrayQueue<T> queue;
+    private final int capacity;
+    private final BackpressurePolicy policy;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    // Total nanoseconds producers and consumers spent waiting
+    private final LongAdder blockedNanos = new LongAdder();
+
+    // The number of elements discarded by the backpressure policy
+    private final LongAdder dropped = new LongAdder();
+
+    // Create an empty queue holding at most capacity elements which blocks when full
+    public BoundedBlockingQueue(int capacity) {
+        this(capacity, BackpressurePolicy.BLOCK);
+    }
+
+    // Create an empty queue holding at most capacity elements
+    public BoundedBlockingQueue(int capacity, BackpressurePolicy policy) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity <= 0 is not allowed");
+        if (policy == null) throw new IllegalArgumentException();
+
+        this.capacity = capacity;
+        this.policy = policy;
+        queue = new ArrayQueue<T>(capacity, false);
+    }
+
+    // Returns the maximum number of elements the queue holds
+    public int capacity() {
+        return capacity;
+    }
+
+    // Returns the backpressure policy used by put
+    public BackpressurePolicy policy() {
+        return policy;
+    }
+
+    // Get the size of the queue
+    public int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Check if queue is empty
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Total nanoseconds threads have spent waiting in put/take/offer/poll
+    public long blockedNanos() {
+        return blockedNanos.sum();
+    }
+
+    // The number of elements discarded by the backpressure policy
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    // Adds an element, applying the backpressure policy if the queue is
+    // full. Returns false if the element itself was dropped
+    public boolean put(T elem) throws InterruptedException {
+        if (elem == null) throw new IllegalArgumentException();
+
+        lock.lockInterruptibly();
+        try {
+            if (queue.size() == capacity) {
+                switch (policy) {
+                    case BLOCK:
+                        long start = System.nanoTime();
+                        try {
+                            while (queue.size() == capacity) notFull.await();
+                        } finally {
+                            blockedNanos.add(System.nanoTime() - start);
+                        }
+                        break;
+                    case DROP_NEWEST:
+                        dropped.increment();
+                        return false;
+                    case DROP_OLDEST:
+                        queue.Dequeue();
+                        dropped.increment();
+                        break;
+                    case FAIL:
+                        throw new IllegalStateException("Full Queue");
+                }
+            }
+            enqueue(elem);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Adds an element if there is room, returns false if the queue is full
+    public boolean offer(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+
+        lock.lock();
+        try {
+            if (queue.size() == capacity) return false;
+            enqueue(elem);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Adds an element, waiting up to the timeout for room.
+    // Returns false if the queue was still full
+    public boolean offer(T elem, long timeout, TimeUnit unit) throws InterruptedException {
+        if (elem == null) throw new IllegalArgumentException();
+
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            if (queue.size() == capacity) {
+                long start = System.nanoTime();
+                try {
+                    while (queue.size() == capacity) {
+                        if (nanos <= 0) return false;
+                        nanos = notFull.awaitNanos(nanos);
+                    }
+                } finally {
+                    blockedNanos.add(System.nanoTime() - start);
+                }
+            }
+            enqueue(elem);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Removes and returns the first element, waiting until one is available
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            if (queue.isEmpty()) {
+                long start = System.nanoTime();
+                try {
+                    while (queue.isEmpty()) notEmpty.await();
+                } finally {
+                    blockedNanos.add(System.nanoTime() - start);
+                }
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Removes and returns the first element, or null if the queue is empty
+    public T poll() {
+        lock.lock();
+        try {
+            return queue.isEmpty() ? null : dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Removes and returns the first element, waiting up to the timeout
+    // for one to become available. Returns null if the queue was still empty
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            if (queue.isEmpty()) {
+                long start = System.nanoTime();
+                try {
+                    while (queue.isEmpty()) {
+                        if (nanos <= 0) return null;
+                        nanos = notEmpty.awaitNanos(nanos);
+                    }
+                } finally {
+                    blockedNanos.add(System.nanoTime() - start);
+                }
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Callers must hold the lock
+    private void enqueue(T elem) {
+        queue.Enqueue(elem);
+        notEmpty.signal();
+    }
+
+    // Callers must hold the lock and the queue must not be empty
+    private T dequeue() {
+        T elem = queue.Dequeue();
+        notFull.signal();
+        return elem;
+    }
+}
@@ -0,0 +1,153 @@
+package data_structures.queue;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+
+// Cache line padding, see SpscQueue. Keeps the producer and consumer
+// counters on separate cache lines
+abstract class MpmcPad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class MpmcProducerFields extends MpmcPad0 {
+
+    // The next position claimed by a producer
+    volatile long tail;
+}
+
+abstract class MpmcPad1 extends MpmcProducerFields {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class MpmcConsumerFields extends MpmcPad1 {
+
+    // The next position claimed by a consumer
+    volatile long head;
+}
+
+abstract class MpmcPad2 extends MpmcConsumerFields {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
+
+/**
+ * A bounded lock free queue for any number of producer and consumer
+ * threads, backed by a power of two ring buffer (Dmitry Vyukov's design).
+ * Every slot carries a sequence number which tells a thread whether the
+ * slot is ready to be written or read at its position, so producers and
+ * consumers only contend on a single CAS of their own counter. Null
+ * elements are not allowed since null is returned by poll when the queue
+ * is empty
+ * @param <T>
+ */
+public class MpmcQueue<T> extends MpmcPad2 {
+
+    private static final AtomicLongFieldUpdater<MpmcProducerFields> TAIL =
+            AtomicLongFieldUpdater.newUpdater(MpmcProducerFields.class, "tail");
+    private static final AtomicLongFieldUpdater<MpmcConsumerFields> HEAD =
+            AtomicLongFieldUpdater.newUpdater(MpmcConsumerFields.class, "head");
+
+    // The ring buffer, its length is always a power of two
+    private final Object[] buffer;
+
+    // sequences[i] == position: slot i is free for the producer at position.
+    // sequences[i] == position + 1: slot i holds the element at position
+    private final AtomicLongArray sequences;
+
+    // buffer.length - 1, used to wrap positions
+    private final int mask;
+
+    // Create an empty queue holding at most capacity elements,
+    // rounded up to a power of two (at least two)
+    public MpmcQueue(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity <= 0 is not allowed");
+        if (capacity > 1 << 30) throw new IllegalArgumentException("Capacity too large");
+
+        int length = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new Object[length];
+        sequences = new AtomicLongArray(length);
+        mask = length - 1;
+        for (int i = 0; i < length; i++) sequences.set(i, i);
+    }
+
+    // Returns the maximum number of elements the queue holds
+    public int capacity() {
+        return buffer.length;
+    }
+
+    // Returns the number of elements, a snapshot when called concurrently
+    public int size() {
+        long h = head;
+        return (int) Math.max(0, Math.min(buffer.length, tail - h));
+    }
+
+    // Check if queue is empty, a snapshot when called concurrently
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Adds an element, returns false if the queue is full
+    public boolean offer(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+
+        while (true) {
+            long pos = tail;
+            int index = (int) pos & mask;
+            long dif = sequences.get(index) - pos;
+
+            if (dif == 0) {
+                // The slot is free, try to claim the position
+                if (TAIL.compareAndSet(this, pos, pos + 1)) {
+                    buffer[index] = elem;
+                    sequences.lazySet(index, pos + 1);
+                    return true;
+                }
+            } else if (dif < 0) {
+                // The slot still holds the element from one lap ago
+                return false;
+            }
+            // Otherwise another producer claimed the position, retry
+        }
+    }
+
+    // Removes and returns the first element, or null if the queue is empty
+    public T poll() {
+        while (true) {
+            long pos = head;
+            int index = (int) pos & mask;
+            long dif = sequences.get(index) - (pos + 1);
+
+            if (dif == 0) {
+                // The slot is filled, try to claim the position
+                if (HEAD.compareAndSet(this, pos, pos + 1)) {
+                    @SuppressWarnings("unchecked")
+                    T elem = (T) buffer[index];
+                    buffer[index] = null;
+
+                    // Free the slot for the producer one lap ahead
+                    sequences.lazySet(index, pos + mask + 1);
+                    return elem;
+                }
+            } else if (dif < 0) {
+                // The slot has not been filled yet
+                return null;
+            }
+            // Otherwise another consumer claimed the position, retry
+        }
+    }
+
+    // Removes up to limit elements and hands them to the consumer.
+    // Returns the number of elements drained
+    public int drain(Consumer<? super T> consumer, int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Limit < 0 is not allowed");
+
+        int drained = 0;
+        while (drained < limit) {
+            T elem = poll();
+            if (elem == null) break;
+            drained++;
+            consumer.accept(elem);
+        }
+        return drained;
+    }
+}
@@ -1,15 +1,32 @@
 package data_structures.queue;
 
+import data_structures.linkedlist.DoublyLinkedList;
+import data_structures.metrics.Counter;
+import data_structures.metrics.HighWaterMark;
+import data_structures.metrics.Metrics;
+
 import java.util.EmptyStackException;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.Spliterator;
+import java.util.stream.Stream;
 
 public class Queue<T> implements Iterable<T> {
-    private LinkedList<T> linkedList = new LinkedList<T>();
+    private DoublyLinkedList<T> linkedList = new DoublyLinkedList<T>();
+
+    // Instrumentation, null unless enabled with instrument()
+    private Probe probe = null;
 
     // Create an empty queue
     public Queue() { }
 
+    // Create an empty queue which reuses up to maxPoolSize list nodes,
+    // so a steady stream of enqueues and dequeues does not allocate
+    public static <T> Queue<T> pooled(int maxPoolSize) {
+        Queue<T> queue = new Queue<T>();
+        queue.linkedList = DoublyLinkedList.pooled(maxPoolSize);
+        return queue;
+    }
+
     // Create a queue with a single element
     public Queue(T elem) {
         Enqueue(elem);
@@ -28,11 +45,19 @@ public class Queue<T> implements Iterable<T> {
     // Enqueue an element to the list
     public void Enqueue(T elem) {
         linkedList.addLast(elem);
+        if (probe != null) {
+            probe.enqueues.increment();
+            probe.size.update(linkedList.size());
+        }
     }
 
     // Dequeue an element
     public T Dequeue() {
-        if (linkedList.isEmpty()) throw new RuntimeException("Empty Queue");
+        if (linkedList.isEmpty()) {
+            if (probe != null) probe.emptyDequeues.increment();
+            throw new RuntimeException("Empty Queue");
+        }
+        if (probe != null) probe.dequeues.increment();
         return linkedList.removeFirst();
     }
 
@@ -54,8 +79,44 @@ public class Queue<T> implements Iterable<T> {
         return linkedList.remove(elem);
     }
 
+    // Record enqueue and dequeue counts, dequeues attempted on an empty
+    // queue and the peak size into a metrics registry, under names starting
+    // with 'name'. A null registry turns recording off again
+    public void instrument(Metrics metrics, String name) {
+        probe = metrics == null ? null : new Probe(metrics, name);
+    }
+
+    // The metrics an instrumented queue records into
+    private static final class Probe {
+        final Counter enqueues, dequeues, emptyDequeues;
+        final HighWaterMark size;
+
+        Probe(Metrics metrics, String name) {
+            enqueues = metrics.counter(name + ".enqueues");
+            dequeues = metrics.counter(name + ".dequeues");
+            emptyDequeues = metrics.counter(name + ".emptyDequeues");
+            size = metrics.highWaterMark(name + ".size");
+        }
+    }
+
     @Override
     public Iterator<T> iterator() {
         return linkedList.iterator();
     }
+
+    // A sized spliterator which splits in half, in iteration order
+    @Override
+    public Spliterator<T> spliterator() {
+        return linkedList.spliterator();
+    }
+
+    // Returns a sequential stream from front to back
+    public Stream<T> stream() {
+        return linkedList.stream();
+    }
+
+    // Returns a parallel stream from front to back
+    public Stream<T> parallelStream() {
+        return linkedList.parallelStream();
+    }
 }
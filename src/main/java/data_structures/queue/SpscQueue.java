@@ -0,0 +1,166 @@
+package data_structures.queue;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+
+// Cache line padding. The JVM lays out superclass fields before subclass
+// fields, so a chain of classes keeps the producer and consumer indices
+// on separate cache lines and avoids false sharing between the threads
+abstract class SpscPad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class SpscProducerFields extends SpscPad0 {
+
+    // The next position the producer writes to
+    volatile long tail;
+
+    // The producer's last read of head, refreshed only when the queue looks full
+    long cachedHead;
+}
+
+abstract class SpscPad1 extends SpscProducerFields {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class SpscConsumerFields extends SpscPad1 {
+
+    // The next position the consumer reads from
+    volatile long head;
+
+    // The consumer's last read of tail, refreshed only when the queue looks empty
+    long cachedTail;
+}
+
+abstract class SpscPad2 extends SpscConsumerFields {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
+
+/**
+ * A bounded lock free queue for exactly one producer thread and one
+ * consumer thread, backed by a power of two ring buffer. Each side keeps
+ * a cached copy of the other side's index so it only reads the shared
+ * volatile index when the queue looks full or empty. Null elements are
+ * not allowed since null is returned by poll when the queue is empty
+ * @param <T>
+ */
+public class SpscQueue<T> extends SpscPad2 {
+
+    private static final AtomicLongFieldUpdater<SpscProducerFields> TAIL =
+            AtomicLongFieldUpdater.newUpdater(SpscProducerFields.class, "tail");
+    private static final AtomicLongFieldUpdater<SpscConsumerFields> HEAD =
+            AtomicLongFieldUpdater.newUpdater(SpscConsumerFields.class, "head");
+
+    // The ring buffer, its length is always a power of two
+    private final Object[] buffer;
+
+    // buffer.length - 1, used to wrap positions
+    private final int mask;
+
+    // Create an empty queue holding at most capacity elements,
+    // rounded up to a power of two
+    public SpscQueue(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity <= 0 is not allowed");
+        if (capacity > 1 << 30) throw new IllegalArgumentException("Capacity too large");
+
+        int length = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new Object[length];
+        mask = length - 1;
+    }
+
+    // Returns the maximum number of elements the queue holds
+    public int capacity() {
+        return buffer.length;
+    }
+
+    // Returns the number of elements, a snapshot when called concurrently
+    public int size() {
+        long h = head;
+        return (int) Math.max(0, Math.min(buffer.length, tail - h));
+    }
+
+    // Check if queue is empty, a snapshot when called concurrently
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    // Adds an element, returns false if the queue is full.
+    // Must only be called from the producer thread
+    public boolean offer(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+
+        long t = tail;
+        if (t - cachedHead >= buffer.length) {
+            cachedHead = head;
+            if (t - cachedHead >= buffer.length) return false;
+        }
+
+        buffer[(int) t & mask] = elem;
+
+        // Ordered store publishes the element before the new tail
+        TAIL.lazySet(this, t + 1);
+        return true;
+    }
+
+    // Removes and returns the first element, or null if the queue is empty.
+    // Must only be called from the consumer thread
+    public T poll() {
+        long h = head;
+        if (h >= cachedTail) {
+            cachedTail = tail;
+            if (h >= cachedTail) return null;
+        }
+
+        int index = (int) h & mask;
+        @SuppressWarnings("unchecked")
+        T elem = (T) buffer[index];
+        buffer[index] = null;
+
+        // Ordered store releases the slot back to the producer
+        HEAD.lazySet(this, h + 1);
+        return elem;
+    }
+
+    // Returns the first element without removing it, or null if the
+    // queue is empty. Must only be called from the consumer thread
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        long h = head;
+        if (h >= cachedTail) {
+            cachedTail = tail;
+            if (h >= cachedTail) return null;
+        }
+        return (T) buffer[(int) h & mask];
+    }
+
+    // Removes up to limit elements and hands them to the consumer,
+    // publishing the new head once for the whole batch. Returns the
+    // number of elements drained. Must only be called from the consumer thread
+    public int drain(Consumer<? super T> consumer, int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Limit < 0 is not allowed");
+
+        long h = head;
+        long available = cachedTail - h;
+        if (available < limit) {
+            cachedTail = tail;
+            available = cachedTail - h;
+        }
+
+        // Publish whatever was taken even if the consumer throws
+        int n = (int) Math.min(limit, available);
+        int taken = 0;
+        try {
+            while (taken < n) {
+                int index = (int) (h + taken) & mask;
+                @SuppressWarnings("unchecked")
+                T elem = (T) buffer[index];
+                buffer[index] = null;
+                taken++;
+                consumer.accept(elem);
+            }
+        } finally {
+            if (taken > 0) HEAD.lazySet(this, h + taken);
+        }
+        return taken;
+    }
+}
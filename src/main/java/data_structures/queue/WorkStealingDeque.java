@@ -0,0 +1,208 @@
+package data_structures.queue;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+// Cache line padding keeping the owner's bottom index and the
+// thieves' top index on separate cache lines, see SpscQueue
+abstract class WorkStealingPad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class WorkStealingBottomField extends WorkStealingPad0 {
+
+    // One past the last element, only written by the owner
+    volatile long bottom;
+}
+
+abstract class WorkStealingPad1 extends WorkStealingBottomField {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class WorkStealingTopField extends WorkStealingPad1 {
+
+    // The first element, advanced by a CAS from any thread
+    volatile long top;
+}
+
+abstract class WorkStealingPad2 extends WorkStealingTopField {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
+
+/**
+ * A lock free work stealing deque (Chase-Lev) for a scheduler where one
+ * owner thread pushes and pops tasks at the tail and any number of thief
+ * threads steal from the head. The owner's operations only need a CAS
+ * when they race a thief for the last element, so the common case is a
+ * couple of plain reads and writes.
+ *
+ * The method names follow DoublyLinkedList: addLast, pollLast, removeLast
+ * and peekLast must only be called from the owner thread, while pollFirst,
+ * removeFirst, peekFirst, size and isEmpty may be called from any thread.
+ * There is no addFirst, only the owner adds elements and it works at the
+ * tail. The poll methods return null instead of throwing when the deque
+ * is empty, so null elements are not allowed.
+ *
+ * The ring buffer doubles when full and never shrinks. A stolen element's
+ * slot is not cleared, so it stays reachable until the owner reuses the slot
+ * @param <T>
+ */
+public class WorkStealingDeque<T> extends WorkStealingPad2 {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private static final AtomicLongFieldUpdater<WorkStealingBottomField> BOTTOM =
+            AtomicLongFieldUpdater.newUpdater(WorkStealingBottomField.class, "bottom");
+    private static final AtomicLongFieldUpdater<WorkStealingTopField> TOP =
+            AtomicLongFieldUpdater.newUpdater(WorkStealingTopField.class, "top");
+
+    // The ring buffer, its length is always a power of two. Replaced
+    // by a larger copy when full, thieves may still read an old one
+    private volatile Object[] buffer;
+
+    // Create an empty deque
+    public WorkStealingDeque() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Create an empty deque with an initial capacity, rounded up to a power of two
+    public WorkStealingDeque(int initialCapacity) {
+        if (initialCapacity <= 0) throw new IllegalArgumentException("Capacity <= 0 is not allowed");
+        if (initialCapacity > 1 << 30) throw new IllegalArgumentException("Capacity too large");
+
+        int length = initialCapacity == 1 ? 2 : Integer.highestOneBit(initialCapacity - 1) << 1;
+        buffer = new Object[length];
+    }
+
+    // Returns the number of elements, a snapshot when called concurrently
+    public int size() {
+        long t = top;
+        return (int) Math.max(0, bottom - t);
+    }
+
+    // Check if the deque is empty, a snapshot when called concurrently
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Add an element to the tail, amortized O(1). Owner thread only
+    public void addLast(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+
+        long b = bottom;
+        long t = top;
+        Object[] buf = buffer;
+        if (b - t >= buf.length - 1) buf = grow(buf, b, t);
+
+        buf[(int) b & (buf.length - 1)] = elem;
+
+        // Ordered store publishes the element before the new bottom
+        BOTTOM.lazySet(this, b + 1);
+    }
+
+    // Remove and return the last element, or null if the deque is empty.
+    // Owner thread only
+    public T pollLast() {
+        long b = bottom - 1;
+        Object[] buf = buffer;
+
+        // Claim the last slot before looking at top. The volatile write
+        // followed by the volatile read of top keeps a thief from taking
+        // the same element without seeing the claim
+        bottom = b;
+        long t = top;
+
+        if (t > b) {
+            // The deque was empty
+            bottom = b + 1;
+            return null;
+        }
+
+        int index = (int) b & (buf.length - 1);
+        @SuppressWarnings("unchecked")
+        T elem = (T) buf[index];
+
+        if (t == b) {
+            // The last element, race the thieves for it
+            if (!TOP.compareAndSet(this, t, t + 1)) elem = null;
+            else buf[index] = null;
+            bottom = b + 1;
+            return elem;
+        }
+
+        // Thieves can't reach the slot at b anymore, release it for the GC
+        buf[index] = null;
+        return elem;
+    }
+
+    // Remove and return the first element, or null if the deque is empty.
+    // Any thread may steal with this
+    public T pollFirst() {
+        while (true) {
+            long t = top;
+            long b = bottom;
+            if (t >= b) return null;
+
+            Object[] buf = buffer;
+            @SuppressWarnings("unchecked")
+            T elem = (T) buf[(int) t & (buf.length - 1)];
+
+            // Losing the CAS means another thread took this element, retry
+            if (TOP.compareAndSet(this, t, t + 1)) return elem;
+        }
+    }
+
+    // Remove the last element. Owner thread only
+    public T removeLast() {
+        T elem = pollLast();
+        if (elem == null) throw new RuntimeException("Empty List");
+        return elem;
+    }
+
+    // Remove the first element, any thread
+    public T removeFirst() {
+        T elem = pollFirst();
+        if (elem == null) throw new RuntimeException("Empty List");
+        return elem;
+    }
+
+    // Check the value of the last element. Owner thread only
+    @SuppressWarnings("unchecked")
+    public T peekLast() {
+        long b = bottom;
+        if (b <= top) throw new RuntimeException("Empty List");
+        Object[] buf = buffer;
+        T elem = (T) buf[(int) (b - 1) & (buf.length - 1)];
+
+        // A thief may have taken the last element after the check
+        if (elem == null || b <= top) throw new RuntimeException("Empty List");
+        return elem;
+    }
+
+    // Check the value of the first element, any thread. The element may
+    // already have been taken by the time it is returned
+    @SuppressWarnings("unchecked")
+    public T peekFirst() {
+        while (true) {
+            long t = top;
+            if (t >= bottom) throw new RuntimeException("Empty List");
+            Object[] buf = buffer;
+            T elem = (T) buf[(int) t & (buf.length - 1)];
+
+            // Only trust the read if no thread moved top meanwhile
+            if (elem != null && t == top) return elem;
+        }
+    }
+
+    // Copy the live elements into a buffer twice the size. The old buffer
+    // is left untouched so thieves reading it still see valid elements
+    private Object[] grow(Object[] buf, long b, long t) {
+        if (buf.length == 1 << 30) throw new IllegalStateException("Deque is full");
+
+        Object[] bigger = new Object[buf.length << 1];
+        for (long i = t; i < b; i++) {
+            bigger[(int) i & (bigger.length - 1)] = buf[(int) i & (buf.length - 1)];
+        }
+        buffer = bigger;
+        return bigger;
+    }
+}
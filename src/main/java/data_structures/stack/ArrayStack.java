@@ -0,0 +1,118 @@
+package data_structures.stack;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A stack backed by a resizable array. The array doubles when full and
+ * can optionally halve once it is a quarter full; popped slots are nulled
+ * out so the stack never holds on to garbage. Pushing and popping do not
+ * allocate anything once the array has reached its working size
+ * @param <T>
+ */
+public class ArrayStack <T> implements Iterable<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // The elements, the top of the stack is elements[size - 1]
+    private Object[] elements;
+
+    // The number of elements in the stack
+    private int size = 0;
+
+    // Whether the array halves once it is a quarter full
+    private final boolean shrink;
+
+    // The capacity the array never shrinks below
+    private final int minCapacity;
+
+    // Bumped on every push and pop so iterators can fail fast
+    private int modCount = 0;
+
+    // Create an empty stack
+    public ArrayStack() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    // Create a Stack with an initial element
+    public ArrayStack(T firstElem) {
+        this();
+        push(firstElem);
+    }
+
+    // Create an empty stack with an initial capacity
+    // which optionally shrinks back down to that capacity
+    public ArrayStack(int capacity, boolean shrink) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity <= 0 is not allowed");
+
+        elements = new Object[capacity];
+        minCapacity = capacity;
+        this.shrink = shrink;
+    }
+
+    // Return the number of elements in the stack
+    public int size() {
+        return size;
+    }
+
+    // Check if the stack is empty
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Push an element on the stack, amortized O(1)
+    public void push(T elem) {
+        if (size == elements.length) resize(elements.length << 1);
+        elements[size++] = elem;
+        modCount++;
+    }
+
+    // Pop an element on the stack, amortized O(1)
+    @SuppressWarnings("unchecked")
+    public T pop() {
+        if (isEmpty()) throw new EmptyStackException();
+
+        T elem = (T) elements[--size];
+        elements[size] = null;
+        modCount++;
+
+        if (shrink && elements.length > minCapacity && size <= elements.length >> 2) {
+            resize(Math.max(minCapacity, elements.length >> 1));
+        }
+        return elem;
+    }
+
+    // Peek the top of the stack without removing an element
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        if (isEmpty()) throw new EmptyStackException();
+        return (T) elements[size - 1];
+    }
+
+    // Allow users to iterate through the stack from bottom to top
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index = 0;
+            private final int expectedModCount = modCount;
+
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (index >= size) throw new NoSuchElementException();
+                return (T) elements[index++];
+            }
+        };
+    }
+
+    private void resize(int length) {
+        if (length < 0) throw new IllegalStateException("Stack too large");
+        elements = Arrays.copyOf(elements, length);
+    }
+}
@@ -0,0 +1,148 @@
+package data_structures.stack;
+
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock free stack (Treiber stack) for any number of threads. Push and
+ * pop swing the head with a single CAS.
+ *
+ * Under heavy contention an optional elimination array lets a push and a
+ * pop which both failed their CAS cancel each other out: the pusher parks
+ * its node in a random slot for a short while and a popper which finds it
+ * there takes the node directly, so neither touches the head.
+ *
+ * Every push allocates a fresh node and nodes are never reused, so a node
+ * cannot be popped and pushed back while another thread still holds a
+ * reference to it; the garbage collector rules out the ABA problem
+ * @param <T>
+ */
+public class ConcurrentStack <T> implements Iterable<T> {
+
+    // How many times a pusher checks its slot before withdrawing the node
+    private static final int ELIMINATION_SPINS = 64;
+
+    private static final class Node <T> {
+        final T data;
+        Node <T> next;
+
+        Node(T data) {
+            this.data = data;
+        }
+    }
+
+    private final AtomicReference<Node<T>> head = new AtomicReference<Node<T>>();
+
+    // Slots where a pusher offers its node to a popper, null when disabled
+    private final AtomicReferenceArray<Node<T>> elimination;
+
+    // Create an empty stack without an elimination array
+    public ConcurrentStack() {
+        this(0);
+    }
+
+    // Create an empty stack with a given number of elimination slots,
+    // zero disables elimination
+    public ConcurrentStack(int eliminationSlots) {
+        if (eliminationSlots < 0) throw new IllegalArgumentException("Slots < 0 is not allowed");
+        elimination = eliminationSlots == 0 ? null : new AtomicReferenceArray<Node<T>>(eliminationSlots);
+    }
+
+    // Check if the stack is empty
+    public boolean isEmpty() {
+        return head.get() == null;
+    }
+
+    // Return the number of elements in the stack by walking it, O(n).
+    // The result is only a snapshot when other threads are pushing or popping
+    public int size() {
+        int size = 0;
+        for (Node<T> node = head.get(); node != null; node = node.next) size++;
+        return size;
+    }
+
+    // Push an element on the stack, the element must not be null
+    public void push(T elem) {
+        if (elem == null) throw new IllegalArgumentException();
+
+        Node<T> node = new Node<T>(elem);
+        while (true) {
+            Node<T> top = head.get();
+            node.next = top;
+            if (head.compareAndSet(top, node)) return;
+            if (elimination != null && eliminatePush(node)) return;
+        }
+    }
+
+    // Pop an element on the stack
+    public T pop() {
+        T elem = poll();
+        if (elem == null) throw new EmptyStackException();
+        return elem;
+    }
+
+    // Pop an element on the stack, or return null if the stack is empty
+    public T poll() {
+        while (true) {
+            Node<T> top = head.get();
+            if (top == null) return null;
+            if (head.compareAndSet(top, top.next)) return top.data;
+            if (elimination != null) {
+                Node<T> node = eliminatePop();
+                if (node != null) return node.data;
+            }
+        }
+    }
+
+    // Peek the top of the stack without removing an element
+    public T peek() {
+        Node<T> top = head.get();
+        if (top == null) throw new EmptyStackException();
+        return top.data;
+    }
+
+    // Offer a node to a popper through a random slot. Returns true if a
+    // popper took it, false if the push should retry on the head
+    private boolean eliminatePush(Node<T> node) {
+        int slot = ThreadLocalRandom.current().nextInt(elimination.length());
+        if (!elimination.compareAndSet(slot, null, node)) return false;
+
+        for (int i = 0; i < ELIMINATION_SPINS; i++) {
+            if (elimination.get(slot) != node) return true;
+        }
+
+        // Withdraw the offer, failing means a popper took it just now
+        return !elimination.compareAndSet(slot, node, null);
+    }
+
+    // Take a node offered by a pusher in a random slot, or null if none
+    private Node<T> eliminatePop() {
+        int slot = ThreadLocalRandom.current().nextInt(elimination.length());
+        Node<T> node = elimination.get(slot);
+        if (node != null && elimination.compareAndSet(slot, node, null)) return node;
+        return null;
+    }
+
+    // Iterate through the stack from top to bottom. The iterator is
+    // weakly consistent, it sees the stack as of its creation
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<T> traverse = head.get();
+
+            public boolean hasNext() {
+                return traverse != null;
+            }
+
+            public T next() {
+                if (traverse == null) throw new NoSuchElementException();
+                T data = traverse.data;
+                traverse = traverse.next;
+                return data;
+            }
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package data_structures.stack;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.EmptyStackException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A stack of primitive long values backed by a resizable long array, so
+ * pushing and popping never box or allocate once the array has reached
+ * its working size (eg. iterative DFS or expression evaluation)
+ */
+public class LongStack implements Iterable<Long> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    // The values, the top of the stack is values[size - 1]
+    private long[] values;
+
+    // The number of values in the stack
+    private int size = 0;
+
+    // Whether the array halves once it is a quarter full
+    private final boolean shrink;
+
+    // The capacity the array never shrinks below
+    private final int minCapacity;
+
+    // Bumped on every push and pop so iterators can fail fast
+    private int modCount = 0;
+
+    // Create an empty stack
+    public LongStack() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    // Create an empty stack with an initial capacity
+    // which optionally shrinks back down to that capacity
+    public LongStack(int capacity, boolean shrink) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity <= 0 is not allowed");
+
+        values = new long[capacity];
+        minCapacity = capacity;
+        this.shrink = shrink;
+    }
+
+    // Return the number of values in the stack
+    public int size() {
+        return size;
+    }
+
+    // Check if the stack is empty
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Push a value on the stack, amortized O(1)
+    public void push(long value) {
+        if (size == values.length) ensureCapacity(size + 1);
+        values[size++] = value;
+        modCount++;
+    }
+
+    // Push every value of an array on the stack in order, so the
+    // last value of the array ends up on top, O(k)
+    public void pushAll(long[] src) {
+        pushAll(src, 0, src.length);
+    }
+
+    // Push the values src[from, to) on the stack in order, O(k)
+    public void pushAll(long[] src, int from, int to) {
+        if (from < 0 || to > src.length || from > to) throw new IllegalArgumentException();
+
+        int k = to - from;
+        ensureCapacity(size + k);
+        System.arraycopy(src, from, values, size, k);
+        size += k;
+        modCount++;
+    }
+
+    // Pop a value off the stack, amortized O(1)
+    public long pop() {
+        if (isEmpty()) throw new EmptyStackException();
+
+        long value = values[--size];
+        modCount++;
+        shrinkIfSparse();
+        return value;
+    }
+
+    // Pop up to n values into dest in pop order (top of the stack
+    // first). Returns the number of values popped, O(k)
+    public int popN(int n, long[] dest) {
+        if (n < 0 || n > dest.length) throw new IllegalArgumentException();
+
+        int k = Math.min(n, size);
+        for (int i = 0; i < k; i++) {
+            dest[i] = values[size - 1 - i];
+        }
+        size -= k;
+        modCount++;
+        shrinkIfSparse();
+        return k;
+    }
+
+    // Peek the top of the stack without removing a value
+    public long peek() {
+        if (isEmpty()) throw new EmptyStackException();
+        return values[size - 1];
+    }
+
+    // Allow users to iterate through the stack from bottom to top without boxing
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int index = 0;
+            private final int expectedModCount = modCount;
+
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            public long nextLong() {
+                if (expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (index >= size) throw new NoSuchElementException();
+                return values[index++];
+            }
+        };
+    }
+
+    // Grow the array by doubling until it holds at least capacity values
+    private void ensureCapacity(int capacity) {
+        if (capacity < 0 || capacity > MAX_CAPACITY) throw new IllegalStateException("Stack too large");
+        if (capacity <= values.length) return;
+
+        long length = values.length;
+        while (length < capacity) length <<= 1;
+        values = Arrays.copyOf(values, (int) Math.min(length, MAX_CAPACITY));
+    }
+
+    // Halve the array once it is a quarter full
+    private void shrinkIfSparse() {
+        if (shrink && values.length > minCapacity && size <= values.length >> 2) {
+            values = Arrays.copyOf(values, Math.max(minCapacity, values.length >> 1));
+        }
+    }
+}
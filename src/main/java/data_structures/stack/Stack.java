@@ -1,15 +1,32 @@
 package data_structures.stack;
 
+import data_structures.linkedlist.DoublyLinkedList;
+import data_structures.metrics.Counter;
+import data_structures.metrics.HighWaterMark;
+import data_structures.metrics.Metrics;
+
 import java.util.EmptyStackException;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.Spliterator;
+import java.util.stream.Stream;
 
 public class Stack <T> implements Iterable<T>{
-    private LinkedList<T> list = new LinkedList<T>();
+    private DoublyLinkedList<T> list = new DoublyLinkedList<T>();
+
+    // Instrumentation, null unless enabled with instrument()
+    private Probe probe = null;
 
     // Create an empty stack
     public Stack () { }
 
+    // Create an empty stack which reuses up to maxPoolSize list nodes,
+    // so a steady stream of pushes and pops does not allocate
+    public static <T> Stack<T> pooled(int maxPoolSize) {
+        Stack<T> stack = new Stack<T>();
+        stack.list = DoublyLinkedList.pooled(maxPoolSize);
+        return stack;
+    }
+
     // Create a Stack with an initial element
     public Stack(T firstElem) {
         push(firstElem);
@@ -28,11 +45,19 @@ public class Stack <T> implements Iterable<T>{
     // Push an element on the stack
     public void push(T elem) {
         list.addLast(elem);
+        if (probe != null) {
+            probe.pushes.increment();
+            probe.size.update(list.size());
+        }
     }
 
     // Pop an element on the stack
     public T pop() {
-        if (isEmpty()) throw new EmptyStackException();
+        if (isEmpty()) {
+            if (probe != null) probe.emptyPops.increment();
+            throw new EmptyStackException();
+        }
+        if (probe != null) probe.pops.increment();
         return list.removeLast();
     }
 
@@ -42,8 +67,44 @@ public class Stack <T> implements Iterable<T>{
         return list.peekLast();
     }
 
+    // Record push and pop counts, pops attempted on an empty stack and
+    // the peak size into a metrics registry, under names starting with
+    // 'name'. A null registry turns recording off again
+    public void instrument(Metrics metrics, String name) {
+        probe = metrics == null ? null : new Probe(metrics, name);
+    }
+
+    // The metrics an instrumented stack records into
+    private static final class Probe {
+        final Counter pushes, pops, emptyPops;
+        final HighWaterMark size;
+
+        Probe(Metrics metrics, String name) {
+            pushes = metrics.counter(name + ".pushes");
+            pops = metrics.counter(name + ".pops");
+            emptyPops = metrics.counter(name + ".emptyPops");
+            size = metrics.highWaterMark(name + ".size");
+        }
+    }
+
     // Allow users to iterate through the stack using an iterator
     public Iterator<T> iterator() {
         return list.iterator();
     }
+
+    // A sized spliterator which splits in half, in iteration order
+    @Override
+    public Spliterator<T> spliterator() {
+        return list.spliterator();
+    }
+
+    // Returns a sequential stream from bottom to top
+    public Stream<T> stream() {
+        return list.stream();
+    }
+
+    // Returns a parallel stream from bottom to top
+    public Stream<T> parallelStream() {
+        return list.parallelStream();
+    }
 }
@@ -0,0 +1,106 @@
+package data_structures.unionfind;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Thread safe UnionFind/Disjoint set for building connected components
+ * from many threads at once. All updates are single CAS operations on an
+ * AtomicIntegerArray of parents, so no locks are taken.
+ *
+ * Roots are linked by a fixed pseudo random priority of their index
+ * (randomized linking by index): the root with the lower priority is
+ * linked under the other one. A bijective hash is used as the priority,
+ * which keeps the expected tree height logarithmic without having to
+ * keep component sizes consistent across threads. find uses path
+ * splitting, where every node on the path is pointed at its grandparent
+ * with a CAS which may harmlessly fail
+ */
+public class ConcurrentUnionFind {
+
+    // The number of elements in the union find
+    private final int size;
+
+    // parent[i] points to the parent of i, if parent[i] = i then i is a root node
+    private final AtomicIntegerArray parent;
+
+    // Tracks the number of components in the union find
+    private final AtomicInteger numComponents;
+
+    public ConcurrentUnionFind(int size) {
+        if (size <= 0) throw new IllegalArgumentException("Size <= 0 is not allowed");
+
+        this.size = size;
+        numComponents = new AtomicInteger(size);
+        parent = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) parent.set(i, i); // Link to itself (self root) initially
+    }
+
+    // Find which component/set 'p' belongs to, splitting the path on the way
+    public int find(int p) {
+        while (true) {
+            int next = parent.get(p);
+            if (next == p) return p;
+
+            // Point p at its grandparent, a failed CAS means another
+            // thread already moved p further up so it can be ignored
+            int grandparent = parent.get(next);
+            if (next != grandparent) parent.compareAndSet(p, next, grandparent);
+            p = next;
+        }
+    }
+
+    // Return whether or not the elements 'p' and 'q' are in the same
+    // component/set. Roots found while another thread links them are
+    // rechecked so a true answer is never missed
+    public boolean connected(int p, int q) {
+        while (true) {
+            int root1 = find(p);
+            int root2 = find(q);
+            if (root1 == root2) return true;
+
+            // If root1 is still a root the two were disjoint at that point
+            if (parent.get(root1) == root1) return false;
+        }
+    }
+
+    // Return the number of elements in this UnionFind/Disjoint set
+    public int size() {
+        return size;
+    }
+
+    // Returns the number of remaining components/sets
+    public int components() {
+        return numComponents.get();
+    }
+
+    // Unify the components/sets containing elements 'p' and 'q'
+    public void unify(int p, int q) {
+        while (true) {
+            int root1 = find(p);
+            int root2 = find(q);
+
+            // These elements are already in the same group then return
+            if (root1 == root2) return;
+
+            // Link the root with the lower priority under the other one
+            if (priority(root1) > priority(root2)) {
+                int tmp = root1;
+                root1 = root2;
+                root2 = tmp;
+            }
+
+            // The CAS fails if root1 stopped being a root, then retry
+            if (parent.compareAndSet(root1, root1, root2)) {
+                numComponents.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    // A bijective hash of the index, so no two elements share a priority
+    private static int priority(int i) {
+        int h = i * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,215 @@
+package data_structures.unionfind;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * UnionFind/Disjoint set with long ids which grows as new elements are
+ * made with makeSet(), for data sets which are too large or too open
+ * ended for the fixed int sized UnionFind.
+ *
+ * The parent and size of every element are stored outside the Java heap
+ * in fixed size segments, either direct buffers or regions of a memory
+ * mapped file, so the garbage collector never has to scan or copy them
+ * and growing never copies existing elements.
+ *
+ * The segments live until close() is called, which flushes mapped
+ * segments to the file and drops every reference to them, after which
+ * the JVM frees the buffers and unmaps the file regions when it collects
+ * them (there is no way to unmap eagerly on Java 8). The union find can't
+ * be used once closed. The file channel is not closed, it belongs to the
+ * caller
+ */
+public class LongUnionFind implements AutoCloseable {
+
+    // Each segment holds 2^SEGMENT_BITS elements
+    private static final int SEGMENT_BITS = 16;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    // A parent and a size (two longs) per element
+    private static final long SEGMENT_BYTES = SEGMENT_SIZE * 2L * Long.BYTES;
+
+    // The number of elements in the union find
+    private long size = 0;
+
+    // Tracks the number of components in the union find
+    private long numComponents = 0;
+
+    // Element i is stored in segments[i >>> SEGMENT_BITS] with its parent
+    // at index 2*(i & SEGMENT_MASK) and its component size right after
+    private LongBuffer[] segments = new LongBuffer[16];
+    private int numSegments = 0;
+
+    // The mapped regions behind the segments, kept to flush them on close
+    private MappedByteBuffer[] mappings = null;
+
+    // Backing file for memory mapped storage, null for direct buffers
+    private final FileChannel channel;
+
+    // Construct an empty union find stored in direct buffers
+    public LongUnionFind() {
+        this.channel = null;
+    }
+
+    // Construct a union find of size singleton sets stored in direct buffers
+    public LongUnionFind(long size) {
+        this();
+        if (size <= 0) throw new IllegalArgumentException("Size <= 0 is not allowed");
+        for (long i = 0; i < size; i++) makeSet();
+    }
+
+    // Construct an empty union find stored in a memory mapped file. The
+    // channel must be open for reading and writing, its contents are
+    // overwritten, and it must stay open until this union find is closed
+    public LongUnionFind(FileChannel channel) {
+        if (channel == null) throw new IllegalArgumentException();
+        this.channel = channel;
+        this.mappings = new MappedByteBuffer[segments.length];
+    }
+
+    // Add a new singleton set and return its id, amortized O(1)
+    public long makeSet() {
+        checkOpen();
+        long p = size;
+        if ((p & SEGMENT_MASK) == 0) addSegment();
+
+        LongBuffer segment = segments[(int) (p >>> SEGMENT_BITS)];
+        int index = (int) (p & SEGMENT_MASK) << 1;
+        segment.put(index, p);     // Link to itself (self root) initially
+        segment.put(index + 1, 1); // Each component is originally of size one
+
+        size++;
+        numComponents++;
+        return p;
+    }
+
+    // Find which component/set 'p' belongs to, takes amortized constant time.
+    public long find(long p) {
+        checkElement(p);
+
+        // Find the root of the component/set
+        long root = p;
+        long parent;
+        while ((parent = parent(root)) != root) root = parent;
+
+        // Compress the path leading back to the root
+        while (p != root) {
+            long next = parent(p);
+            setParent(p, root);
+            p = next;
+        }
+        return root;
+    }
+
+    // Return whether or not the elements 'p' and
+    // 'q' are in the same component/set.
+    public boolean connected(long p, long q) {
+        return find(p) == find(q);
+    }
+
+    // Return the size of the components/set 'p' belongs to
+    public long componentSize(long p) {
+        return sizeOf(find(p));
+    }
+
+    // Return the number of elements in this UnionFind/Disjoint set
+    public long size() {
+        return size;
+    }
+
+    // Returns the number of remaining components/sets
+    public long components() {
+        return numComponents;
+    }
+
+    // Unify the components/sets containing elements 'p' and 'q'
+    public void unify(long p, long q) {
+
+        long root1 = find(p);
+        long root2 = find(q);
+
+        // These elements are already in the same group then return
+        if (root1 == root2) return;
+
+        // Merge smaller components/set into the larger one.
+        long size1 = sizeOf(root1);
+        long size2 = sizeOf(root2);
+        if (size1 < size2) {
+            setSize(root2, size1 + size2);
+            setParent(root1, root2);
+        } else {
+            setSize(root1, size1 + size2);
+            setParent(root2, root1);
+        }
+
+        numComponents--;
+    }
+
+    // Flush mapped segments to the file and release all storage. The
+    // channel stays open. Calling close again has no effect
+    @Override
+    public void close() {
+        if (segments == null) return;
+
+        if (mappings != null) {
+            for (int i = 0; i < numSegments; i++) mappings[i].force();
+        }
+        segments = null;
+        mappings = null;
+        numSegments = 0;
+    }
+
+    private long parent(long p) {
+        return segments[(int) (p >>> SEGMENT_BITS)].get((int) (p & SEGMENT_MASK) << 1);
+    }
+
+    private void setParent(long p, long parent) {
+        segments[(int) (p >>> SEGMENT_BITS)].put((int) (p & SEGMENT_MASK) << 1, parent);
+    }
+
+    private long sizeOf(long p) {
+        return segments[(int) (p >>> SEGMENT_BITS)].get(((int) (p & SEGMENT_MASK) << 1) + 1);
+    }
+
+    private void setSize(long p, long sz) {
+        segments[(int) (p >>> SEGMENT_BITS)].put(((int) (p & SEGMENT_MASK) << 1) + 1, sz);
+    }
+
+    private void checkOpen() {
+        if (segments == null) throw new IllegalStateException("Union find is closed");
+    }
+
+    private void checkElement(long p) {
+        checkOpen();
+        if (p < 0 || p >= size) throw new IndexOutOfBoundsException("Element " + p + " does not exist");
+    }
+
+    // Allocate storage for the next SEGMENT_SIZE elements
+    private void addSegment() {
+        if (numSegments == segments.length) {
+            segments = Arrays.copyOf(segments, numSegments * 2);
+            if (mappings != null) mappings = Arrays.copyOf(mappings, numSegments * 2);
+        }
+
+        ByteBuffer bytes;
+        if (channel == null) {
+            bytes = ByteBuffer.allocateDirect((int) SEGMENT_BYTES);
+        } else {
+            try {
+                MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_WRITE, numSegments * SEGMENT_BYTES, SEGMENT_BYTES);
+                mappings[numSegments] = mapping;
+                bytes = mapping;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        segments[numSegments++] = bytes.order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+}
@@ -0,0 +1,109 @@
+package data_structures.unionfind;
+
+import data_structures.stack.IntStack;
+
+/**
+ * UnionFind/Disjoint set whose unions can be undone, eg. for offline
+ * dynamic connectivity or backtracking search. Path compression would
+ * rewrite parents which cannot be cheaply restored, so this variant only
+ * uses union by size, which keeps find at O(log(n)). Every union is
+ * recorded in a change log; snapshot() marks a point in the log and
+ * rollback() undoes the unions made since, in O(changes undone)
+ */
+public class RollbackUnionFind {
+
+    // The number of elements in the union find
+    private final int size;
+
+    // Used to track the sizes of each of the components
+    private final int[] sz;
+
+    // id[i] points to the parent of i, if id[i] = i the i is the root node
+    private final int[] id;
+
+    // Tracks the number of components in the union find
+    private int numComponents;
+
+    // The root linked under another root by each union, in order
+    private final IntStack log = new IntStack();
+
+    public RollbackUnionFind(int size) {
+        if (size <= 0) throw new IllegalArgumentException("Size <= 0 is not allowed");
+
+        this.size = numComponents = size;
+        sz = new int[size];
+        id = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            id[i] = i; // Link to itself (self root) initially
+            sz[i] = 1; // Each component is originally of size one
+        }
+    }
+
+    // Find which component/set 'p' belongs to without modifying the tree, O(log(n))
+    public int find(int p) {
+        while (p != id[p]) p = id[p];
+        return p;
+    }
+
+    // Return whether or not the elements 'p' and
+    // 'q' are in the same component/set.
+    public boolean connected(int p, int q) {
+        return find(p) == find(q);
+    }
+
+    // Return the size of the components/set 'p' belongs to
+    public int componentSize(int p) {
+        return sz[find(p)];
+    }
+
+    // Return the number of elements in this UnionFind/Disjoint set
+    public int size() {
+        return size;
+    }
+
+    // Returns the number of remaining components/sets
+    public int components() {
+        return numComponents;
+    }
+
+    // Unify the components/sets containing elements 'p' and 'q', O(log(n))
+    public void unify(int p, int q) {
+
+        int root1 = find(p);
+        int root2 = find(q);
+
+        // These elements are already in the same group then return
+        if (root1 == root2) return;
+
+        // Merge smaller components/set into the larger one.
+        if (sz[root1] < sz[root2]) {
+            int tmp = root1;
+            root1 = root2;
+            root2 = tmp;
+        }
+        sz[root1] += sz[root2];
+        id[root2] = root1;
+        numComponents--;
+
+        log.push(root2);
+    }
+
+    // Returns a marker of the current state which can be rolled back to
+    public int snapshot() {
+        return log.size();
+    }
+
+    // Undo every union made since the snapshot was taken, O(changes undone)
+    public void rollback(int snapshot) {
+        if (snapshot < 0 || snapshot > log.size()) throw new IllegalArgumentException("Invalid snapshot");
+
+        while (log.size() > snapshot) {
+            int child = log.pop();
+            int root = id[child];
+            sz[root] -= sz[child];
+            id[child] = child;
+            numComponents++;
+        }
+    }
+}
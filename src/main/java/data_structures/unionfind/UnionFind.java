@@ -1,5 +1,15 @@
 package data_structures.unionfind;
 
+import data_structures.metrics.Counter;
+import data_structures.metrics.HighWaterMark;
+import data_structures.metrics.Histogram;
+import data_structures.metrics.Metrics;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
 /**
  * eg. use case would be: Kruskal's minimum spanning tree
  */
@@ -9,6 +19,9 @@ package data_structures.unionfind;
  */
 public class UnionFind {
 
+    // Edges per fork join task below which a batch is not split further
+    private static final int BATCH_THRESHOLD = 1 << 13;
+
     // The number of elements in the union find
     private int size;
 
@@ -21,6 +34,9 @@ public class UnionFind {
     // Tracks the number of components in the union find
     private int numComponents;
 
+    // Instrumentation, null unless enabled with instrument()
+    private Probe probe = null;
+
     public UnionFind(int size) {
         if (size <= 0) throw new IllegalArgumentException("Size <= 0 is not allowed");
 
@@ -30,12 +46,23 @@ public class UnionFind {
 
         for(int i=0; i<size; i++) {
             id[i] = i; // Link to itself (self root) initially
-            sz[i] = i; // Each component is originally of size one
+            sz[i] = 1; // Each component is originally of size one
         }
     }
 
     // Find which component/set 'p' belongs to, takes amortized constant time.
     public int find(int p) {
+        if (probe != null) {
+            probe.finds.increment();
+            probe.pathLength.record(pathLength(p));
+        }
+        return root(p);
+    }
+
+    // find without instrumentation, used internally so only
+    // finds issued by callers are recorded
+    private int root(int p) {
+
         // Find the root of the component/set
         int root = p;
         while(root != id[root])
@@ -55,12 +82,12 @@ public class UnionFind {
     // Return whether or not the elements 'p' and
     // 'q' are in the same component/set.
     public boolean connected(int p, int q) {
-        return find(p) == find(q);
+        return root(p) == root(q);
     }
 
     // Return the size of the components/set 'p' belongs to
     public int componentSize(int p) {
-        return sz[find(p)];
+        return sz[root(p)];
     }
 
     // Return the number of elements in this UnionFind/Disjoint set
@@ -73,14 +100,53 @@ public class UnionFind {
         return numComponents;
     }
 
+    // Returns the root of every component/set in ascending order. The
+    // stream splits by index range, so it may be made parallel. The
+    // union find must not be modified while the stream is in use
+    public IntStream componentRoots() {
+        final int[] id = this.id;
+        return IntStream.range(0, size).filter(new IntPredicate() {
+            public boolean test(int i) {
+                return id[i] == i;
+            }
+        });
+    }
+
+    // Returns the elements of the component/set 'p' belongs to in
+    // ascending order. Paths are compressed first so the stream only
+    // reads id[] and may be made parallel, O(n)
+    public IntStream componentMembers(int p) {
+        final int root = root(p);
+        compressAll();
+
+        final int[] id = this.id;
+        return IntStream.range(0, size).filter(new IntPredicate() {
+            public boolean test(int i) {
+                return id[i] == root;
+            }
+        });
+    }
+
     // Unify the components/sets containing elements 'p' and 'q'
     public void unify(int p, int q) {
+        int merged = link(p, q);
+
+        if (probe != null) {
+            probe.unifies.increment();
+            if (merged > 0) probe.largestComponent.update(merged);
+        }
+    }
 
-        int root1 = find(p);
-        int root2 = find(q);
+    // Merge the components/sets containing elements 'p' and 'q' without
+    // recording anything, returns the size of the merged component/set
+    // or 0 if they were already the same one
+    private int link(int p, int q) {
+
+        int root1 = root(p);
+        int root2 = root(q);
 
         // These elements are already in the same group then return
-        if (root1 == root2) return;
+        if (root1 == root2) return 0;
 
         // Merge two components/set together.
         // Merge smaller components/set into the larger one.
@@ -95,6 +161,168 @@ public class UnionFind {
         // Since the roots found are different we know that the
         // number of components/sets has decreased by one
         numComponents--;
+
+        return Math.max(sz[root1], sz[root2]);
+    }
+
+    // Record find and unify counts, the path length from each element
+    // passed to find up to its root before compression, and the size of
+    // the largest component into a metrics registry, under names starting
+    // with 'name'. Only finds made by callers are recorded, not the ones
+    // unify and the batch methods make internally. unifyAll counts one
+    // unify per edge whichever way it runs, as calling unify per edge
+    // would. A null registry turns recording off again, after which every
+    // operation only pays a null check
+    public void instrument(Metrics metrics, String name) {
+        probe = metrics == null ? null : new Probe(metrics, name);
+    }
+
+    // The number of links from 'p' up to its root, O(log(n))
+    private int pathLength(int p) {
+        int length = 0;
+        while (p != id[p]) {
+            p = id[p];
+            length++;
+        }
+        return length;
+    }
+
+    // The metrics an instrumented union find records into
+    private static final class Probe {
+        final Counter finds, unifies;
+        final Histogram pathLength;
+        final HighWaterMark largestComponent;
+
+        Probe(Metrics metrics, String name) {
+            finds = metrics.counter(name + ".finds");
+            unifies = metrics.counter(name + ".unifies");
+            pathLength = metrics.histogram(name + ".find.pathLength");
+            largestComponent = metrics.highWaterMark(name + ".largestComponent");
+        }
+    }
+
+    // Unify the components/sets of every pair of elements 'src[i]' and
+    // 'dst[i]' using the common fork join pool
+    public void unifyAll(int[] src, int[] dst) {
+        unifyAll(src, dst, ForkJoinPool.commonPool());
+    }
+
+    // Unify the components/sets of every pair of elements 'src[i]' and
+    // 'dst[i]'. The edges are split across the pool and unified into a
+    // ConcurrentUnionFind over the current roots, then the handful of
+    // roots it merged are unified here sequentially. The result is the
+    // same component count and sizes as calling unify once per edge
+    public void unifyAll(int[] src, int[] dst, ForkJoinPool pool) {
+        if (src.length != dst.length) throw new IllegalArgumentException("Edge arrays differ in length");
+
+        int largest = 0;
+
+        // Small batches are not worth the fork join overhead
+        if (src.length <= BATCH_THRESHOLD) {
+            for (int i = 0; i < src.length; i++) largest = Math.max(largest, link(src[i], dst[i]));
+        } else {
+
+            // After compressing every path id[] is read only and maps each element to its root
+            compressAll();
+            ConcurrentUnionFind roots = new ConcurrentUnionFind(size);
+            pool.invoke(new UnifyTask(id, src, dst, roots, 0, src.length));
+
+            // Only roots were linked in the concurrent union find, fold them back in
+            for (int i = 0; i < size; i++) {
+                int root = roots.find(i);
+                if (root != i) largest = Math.max(largest, link(i, root));
+            }
+        }
+
+        if (probe != null) {
+            probe.unifies.add(src.length);
+            if (largest > 0) probe.largestComponent.update(largest);
+        }
+    }
+
+    // For every i record whether 'p[i]' and 'q[i]' are in the same
+    // component/set into 'out[i]' using the common fork join pool
+    public void connectedAll(int[] p, int[] q, boolean[] out) {
+        connectedAll(p, q, out, ForkJoinPool.commonPool());
+    }
+
+    // For every i record whether 'p[i]' and 'q[i]' are in the same
+    // component/set into 'out[i]', answering the queries across the pool
+    public void connectedAll(int[] p, int[] q, boolean[] out, ForkJoinPool pool) {
+        if (p.length != q.length || p.length != out.length) {
+            throw new IllegalArgumentException("Query arrays differ in length");
+        }
+
+        if (p.length <= BATCH_THRESHOLD) {
+            for (int i = 0; i < p.length; i++) out[i] = connected(p[i], q[i]);
+            return;
+        }
+
+        compressAll();
+        pool.invoke(new ConnectedTask(id, p, q, out, 0, p.length));
+    }
+
+    // Point every element directly at its root, O(n)
+    private void compressAll() {
+        for (int i = 0; i < size; i++) root(i);
+    }
+
+    // Unifies the roots of a range of edges, splitting large ranges in half
+    private static final class UnifyTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] root, src, dst;
+        private final ConcurrentUnionFind roots;
+        private final int lo, hi;
+
+        UnifyTask(int[] root, int[] src, int[] dst, ConcurrentUnionFind roots, int lo, int hi) {
+            this.root = root;
+            this.src = src;
+            this.dst = dst;
+            this.roots = roots;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= BATCH_THRESHOLD) {
+                for (int i = lo; i < hi; i++) roots.unify(root[src[i]], root[dst[i]]);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new UnifyTask(root, src, dst, roots, lo, mid),
+                      new UnifyTask(root, src, dst, roots, mid, hi));
+        }
+    }
+
+    // Answers a range of connectivity queries, splitting large ranges in half
+    private static final class ConnectedTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] root, p, q;
+        private final boolean[] out;
+        private final int lo, hi;
+
+        ConnectedTask(int[] root, int[] p, int[] q, boolean[] out, int lo, int hi) {
+            this.root = root;
+            this.p = p;
+            this.q = q;
+            this.out = out;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= BATCH_THRESHOLD) {
+                for (int i = lo; i < hi; i++) out[i] = root[p[i]] == root[q[i]];
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ConnectedTask(root, p, q, out, lo, mid),
+                      new ConnectedTask(root, p, q, out, mid, hi));
+        }
     }
 
 